@@ -0,0 +1,223 @@
+package com.eventchain.benchmark;
+
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventCounterRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the queries behind event analytics against H2 in MySQL mode,
+ * sampled so the report includes p99. A second event with the same number
+ * of applicants shares the tables, so every strategy has to filter by event.
+ * <ul>
+ *   <li>PER_QUERY: the original analytics code, seven statements of which
+ *       four load whole application and payment rows to count them in Java.
+ *       Rows are mapped with a plain RowMapper, so this is a lower bound on
+ *       what entity hydration cost.</li>
+ *   <li>SUBQUERIES: one statement with a scalar subquery per figure.</li>
+ *   <li>AGGREGATE: {@link EventCounterRepositoryImpl#countFromSource}, one
+ *       statement with a GROUP BY status over applications and one
+ *       aggregate pass over each of the other tables.</li>
+ *   <li>COUNTERS: the event_counters row that analytics reads today.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnalyticsQueryBenchmark {
+    private static final long EVENT_ID = 1L;
+    private static final long OTHER_EVENT_ID = 2L;
+    private static final int INSERT_BATCH = 10_000;
+
+    private static final String SUBQUERIES =
+            "SELECT " +
+            "(SELECT COUNT(*) FROM applications a WHERE a.event_id = ?), " +
+            "(SELECT COUNT(*) FROM applications a WHERE a.event_id = ? AND a.status = 'SELECTED'), " +
+            "(SELECT COUNT(*) FROM applications a WHERE a.event_id = ? AND a.status = 'WAITLISTED'), " +
+            "(SELECT COUNT(*) FROM applications a WHERE a.event_id = ? AND a.status = 'PAID'), " +
+            "(SELECT COUNT(*) FROM tickets t WHERE t.event_id = ?), " +
+            "(SELECT COUNT(*) FROM tickets t WHERE t.event_id = ? AND t.checked_in = TRUE), " +
+            "(SELECT COUNT(*) FROM certificates c WHERE c.event_id = ?), " +
+            "(SELECT COALESCE(SUM(p.amount), 0) FROM payments p JOIN applications a ON a.id = p.application_id " +
+            "WHERE a.event_id = ? AND p.status = 'COMPLETED')";
+
+    private static final RowMapper<Delta> DELTA_MAPPER = (rs, rowNum) -> new Delta(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+            rs.getLong(5), rs.getLong(6), rs.getLong(7), rs.getBigDecimal(8));
+
+    private static final RowMapper<Object[]> APPLICATION_ROW = (rs, rowNum) -> new Object[]{
+            rs.getLong("id"), rs.getLong("user_id"), rs.getLong("event_id"), rs.getString("status"),
+            rs.getObject("application_order"), rs.getObject("lottery_round"), rs.getObject("lottery_key"),
+            rs.getInt("lottery_weight"), rs.getTimestamp("selected_at"), rs.getTimestamp("created_at"),
+            rs.getTimestamp("updated_at")};
+
+    @Param({"10000", "100000"})
+    private int applicants;
+
+    @Param({"PER_QUERY", "SUBQUERIES", "AGGREGATE", "COUNTERS"})
+    private String strategy;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private EventCounterRepositoryImpl repository;
+
+    @Setup(Level.Trial)
+    public void createDatabase() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:analytics_bench;MODE=MySQL;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=0", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new EventCounterRepositoryImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE applications (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    event_id BIGINT NOT NULL,
+                    status VARCHAR(50) NOT NULL DEFAULT 'APPLIED',
+                    application_order INT,
+                    lottery_round INT,
+                    lottery_key BIGINT,
+                    lottery_weight INT NOT NULL DEFAULT 1,
+                    selected_at TIMESTAMP,
+                    created_at TIMESTAMP,
+                    updated_at TIMESTAMP
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_application_event ON applications (event_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_application_event_created ON applications (event_id, created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_application_event_status_order "
+                + "ON applications (event_id, status, application_order)");
+        jdbcTemplate.execute("""
+                CREATE TABLE tickets (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    application_id BIGINT NOT NULL,
+                    event_id BIGINT NOT NULL,
+                    checked_in BOOLEAN NOT NULL DEFAULT FALSE
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_ticket_event ON tickets (event_id)");
+        jdbcTemplate.execute("""
+                CREATE TABLE certificates (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    ticket_id BIGINT NOT NULL,
+                    event_id BIGINT NOT NULL
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_certificate_event ON certificates (event_id)");
+        jdbcTemplate.execute("""
+                CREATE TABLE payments (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    application_id BIGINT NOT NULL,
+                    amount DECIMAL(10, 2) NOT NULL,
+                    status VARCHAR(50) NOT NULL,
+                    created_at TIMESTAMP
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_payment_application ON payments (application_id)");
+        jdbcTemplate.execute("""
+                CREATE TABLE event_counters (
+                    event_id BIGINT PRIMARY KEY,
+                    applications BIGINT NOT NULL, selected BIGINT NOT NULL, waitlisted BIGINT NOT NULL,
+                    paid BIGINT NOT NULL, minted BIGINT NOT NULL, checked_in BIGINT NOT NULL,
+                    certificates BIGINT NOT NULL, revenue DECIMAL(14, 2) NOT NULL,
+                    rebuilt_at TIMESTAMP, updated_at TIMESTAMP NOT NULL
+                )""");
+
+        populate(EVENT_ID);
+        populate(OTHER_EVENT_ID);
+        for (long eventId : new long[]{EVENT_ID, OTHER_EVENT_ID}) {
+            repository.insertEmpty(eventId);
+            repository.rebuild(eventId);
+        }
+    }
+
+    /** A drawn event: 10% paid with a ticket, 10% selected, 30% waitlisted, the rest still applied. */
+    private void populate(long eventId) {
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < applicants; i++) {
+            String status = switch (i % 10) {
+                case 0 -> "PAID";
+                case 1 -> "SELECTED";
+                case 2, 3, 4 -> "WAITLISTED";
+                default -> "APPLIED";
+            };
+            rows.add(new Object[]{eventId * applicants + i, eventId, status, i + 1, (long) i});
+            if (rows.size() == INSERT_BATCH || i == applicants - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO applications "
+                        + "(user_id, event_id, status, application_order, lottery_key, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.update("INSERT INTO payments (application_id, amount, status, created_at) "
+                + "SELECT id, 25.00, 'COMPLETED', CURRENT_TIMESTAMP FROM applications "
+                + "WHERE event_id = ? AND status = 'PAID'", eventId);
+        jdbcTemplate.update("INSERT INTO tickets (application_id, event_id, checked_in) "
+                + "SELECT id, event_id, MOD(id, 3) <> 0 FROM applications WHERE event_id = ? AND status = 'PAID'",
+                eventId);
+        jdbcTemplate.update("INSERT INTO certificates (ticket_id, event_id) "
+                + "SELECT id, event_id FROM tickets WHERE event_id = ? AND checked_in = TRUE", eventId);
+    }
+
+    @TearDown(Level.Trial)
+    public void dropDatabase() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Delta analytics() {
+        return switch (strategy) {
+            case "PER_QUERY" -> perQuery();
+            case "SUBQUERIES" -> jdbcTemplate.queryForObject(SUBQUERIES, DELTA_MAPPER,
+                    EVENT_ID, EVENT_ID, EVENT_ID, EVENT_ID, EVENT_ID, EVENT_ID, EVENT_ID, EVENT_ID);
+            case "AGGREGATE" -> repository.countFromSource(EVENT_ID);
+            case "COUNTERS" -> jdbcTemplate.queryForObject("SELECT applications, selected, waitlisted, paid, "
+                    + "minted, checked_in, certificates, revenue FROM event_counters WHERE event_id = ?",
+                    DELTA_MAPPER, EVENT_ID);
+            default -> throw new IllegalStateException("Unknown strategy " + strategy);
+        };
+    }
+
+    private Delta perQuery() {
+        long total = jdbcTemplate.query("SELECT * FROM applications WHERE event_id = ? ORDER BY created_at",
+                APPLICATION_ROW, EVENT_ID).size();
+        long selected = byStatus("SELECTED");
+        long waitlisted = byStatus("WAITLISTED");
+        long paid = byStatus("PAID");
+        long minted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets WHERE event_id = ?",
+                Long.class, EVENT_ID);
+        long checkedIn = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tickets WHERE event_id = ? AND checked_in = TRUE", Long.class, EVENT_ID);
+        long certificates = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM certificates WHERE event_id = ?",
+                Long.class, EVENT_ID);
+        BigDecimal revenue = jdbcTemplate.query("SELECT p.* FROM payments p JOIN applications a "
+                        + "ON a.id = p.application_id WHERE a.event_id = ? AND p.status = 'COMPLETED'",
+                        (rs, rowNum) -> rs.getBigDecimal("amount"), EVENT_ID).stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new Delta(total, selected, waitlisted, paid, minted, checkedIn, certificates, revenue);
+    }
+
+    private long byStatus(String status) {
+        return jdbcTemplate.query("SELECT * FROM applications WHERE event_id = ? AND status = ?",
+                APPLICATION_ROW, EVENT_ID, status).size();
+    }
+}
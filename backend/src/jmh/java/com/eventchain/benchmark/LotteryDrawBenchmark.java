@@ -0,0 +1,65 @@
+package com.eventchain.benchmark;
+
+import com.eventchain.service.LotteryDraw;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cost of ordering applicants, without any database work: the
+ * uniform Fisher-Yates shuffle against the weighted alias-method order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LotteryDrawBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int applicants;
+
+    private long[] ids;
+    private long[] scratch;
+    private int[] weights;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void createApplicants() {
+        SplittableRandom data = new SplittableRandom(42);
+        ids = new long[applicants];
+        scratch = new long[applicants];
+        weights = new int[applicants];
+        for (int i = 0; i < applicants; i++) {
+            ids[i] = i + 1;
+            // Most applicants have no attendance history; a few regulars carry the maximum bonus
+            weights[i] = 1 + (data.nextInt(10) < 7 ? 0 : data.nextInt(5));
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public long[] uniformShuffle() {
+        System.arraycopy(ids, 0, scratch, 0, applicants);
+        LotteryDraw.shuffle(scratch, applicants, random);
+        return scratch;
+    }
+
+    @Benchmark
+    public long[] weightedOrder() {
+        return LotteryDraw.weightedOrder(ids, weights, random);
+    }
+}
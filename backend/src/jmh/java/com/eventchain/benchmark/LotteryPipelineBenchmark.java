@@ -0,0 +1,226 @@
+package com.eventchain.benchmark;
+
+import com.eventchain.entity.Application;
+import com.eventchain.repository.ApplicationRepositoryCustom;
+import com.eventchain.repository.ApplicationRepositoryImpl;
+import com.eventchain.service.LotteryDraw;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One complete lottery draw against H2 in MySQL mode, using the same
+ * repository code as {@code LotteryService}: load the applicants, order them,
+ * then write status and application_order back in one transaction.
+ * Applicants are reset to APPLIED before every invocation; that reset is not
+ * part of the measurement.
+ * <p>
+ * ENTITY is the baseline for the bulk write: the KEYED order written through
+ * the per-entity path {@code LotteryService} takes with
+ * {@code lottery.bulk.enabled=false}, i.e. getReferenceById and save for each
+ * applicant in one JPA transaction, with the application's Hibernate batch
+ * settings. At 1M applicants it takes minutes per draw, so run it with
+ * {@code -p applicants=10000,100000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LotteryPipelineBenchmark {
+    private static final long EVENT_ID = 1L;
+    private static final int INSERT_BATCH = 10_000;
+    /** lottery.job.chunk-size default. */
+    private static final int CHUNK_SIZE = 5_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int applicants;
+
+    /**
+     * KEYED reads in apply-time key order, SHUFFLED loads ids and shuffles them, WEIGHTED uses the alias method;
+     * all three write with applyLotteryResults. ENTITY is KEYED written one entity at a time, and CHUNKED is
+     * KEYED read and written a chunk per transaction as the lottery job does.
+     */
+    @Param({"KEYED", "SHUFFLED", "WEIGHTED", "ENTITY", "CHUNKED"})
+    private String order;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ApplicationRepositoryCustom repository;
+    private EntityManagerFactory entityManagerFactory;
+    private SplittableRandom random;
+    private int selectedSeats;
+
+    @Setup(Level.Trial)
+    public void createDatabase() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:lottery_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new ApplicationRepositoryImpl(jdbcTemplate, 1000, 10_000);
+        random = new SplittableRandom(7);
+        selectedSeats = Math.max(1, applicants / 10);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE applications (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    event_id BIGINT NOT NULL,
+                    status VARCHAR(50) NOT NULL DEFAULT 'APPLIED',
+                    application_order INT,
+                    lottery_round INT,
+                    lottery_key BIGINT,
+                    lottery_weight INT NOT NULL DEFAULT 1,
+                    selected_at TIMESTAMP,
+                    created_at TIMESTAMP,
+                    updated_at TIMESTAMP
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_application_event_status_lottery_key "
+                + "ON applications (event_id, status, lottery_key, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_application_event_status_order "
+                + "ON applications (event_id, status, application_order)");
+
+        SplittableRandom data = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < applicants; i++) {
+            int weight = 1 + (data.nextInt(10) < 7 ? 0 : data.nextInt(5));
+            rows.add(new Object[]{i + 1L, EVENT_ID, data.nextLong(), weight});
+            if (rows.size() == INSERT_BATCH || i == applicants - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO applications "
+                        + "(user_id, event_id, lottery_key, lottery_weight, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", rows);
+                rows.clear();
+            }
+        }
+
+        if ("ENTITY".equals(order)) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.eventchain.entity");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // The application's naming and batching; only the applications table is read or written
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                    "hibernate.hbm2ddl.auto", "none",
+                    "hibernate.physical_naming_strategy",
+                    "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+                    "hibernate.implicit_naming_strategy",
+                    "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy",
+                    "hibernate.jdbc.batch_size", "500",
+                    "hibernate.order_updates", "true"));
+            factory.afterPropertiesSet();
+            entityManagerFactory = factory.getObject();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetApplicants() {
+        jdbcTemplate.update("UPDATE applications SET status = 'APPLIED', application_order = NULL, "
+                + "lottery_round = NULL, selected_at = NULL WHERE event_id = ?", EVENT_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void dropDatabase() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int draw() {
+        if ("ENTITY".equals(order)) {
+            return drawWithEntities();
+        }
+        if ("CHUNKED".equals(order)) {
+            return drawInChunks();
+        }
+        return transactionTemplate.execute(tx -> {
+            long[] ordered = switch (order) {
+                case "KEYED" -> repository.findApplicantIdsByLotteryKey(EVENT_ID);
+                case "SHUFFLED" -> {
+                    long[] ids = repository.findApplicantIdsForLottery(EVENT_ID);
+                    LotteryDraw.shuffle(ids, ids.length, random);
+                    yield ids;
+                }
+                case "WEIGHTED" -> {
+                    var weighted = repository.findWeightedApplicants(EVENT_ID);
+                    yield LotteryDraw.weightedOrder(weighted.ids(), weighted.weights(), random);
+                }
+                default -> throw new IllegalStateException("Unknown order " + order);
+            };
+            return repository.applyLotteryResults(ordered, 0, selectedSeats, 1);
+        });
+    }
+
+    /** The chunk loop in {@code LotteryJobRunner.drawChunk}, one transaction per chunk. */
+    private int drawInChunks() {
+        int drawn = 0;
+        while (true) {
+            int from = drawn;
+            int written = transactionTemplate.execute(tx -> {
+                long[] ids = repository.findApplicantIdsByLotteryKey(EVENT_ID, CHUNK_SIZE);
+                return ids.length == 0 ? 0 : repository.applyLotteryResults(ids, from, selectedSeats, 1);
+            });
+            if (written == 0) {
+                return drawn;
+            }
+            drawn += written;
+        }
+    }
+
+    /** The loop in {@code LotteryService.drawInline} when bulk commit is off. */
+    private int drawWithEntities() {
+        long[] ordered = repository.findApplicantIdsByLotteryKey(EVENT_ID);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < ordered.length; i++) {
+                Application app = entityManager.getReference(Application.class, ordered[i]);
+                if (i < selectedSeats) {
+                    app.setStatus("SELECTED");
+                    app.setApplicationOrder(i + 1);
+                    app.setLotteryRound(1);
+                    app.setSelectedAt(LocalDateTime.now());
+                } else {
+                    app.setStatus("WAITLISTED");
+                    app.setApplicationOrder(i + 1);
+                    app.setLotteryRound(1);
+                }
+                entityManager.merge(app);
+            }
+            entityManager.getTransaction().commit();
+            return ordered.length;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
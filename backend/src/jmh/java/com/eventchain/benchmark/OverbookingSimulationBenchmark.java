@@ -0,0 +1,61 @@
+package com.eventchain.benchmark;
+
+import com.eventchain.service.OverbookingSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for one overbooking recommendation with 100k trials, which runs inline
+ * when a lottery starts. Small capacities simulate every seat; large ones use
+ * the normal approximation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverbookingSimulationBenchmark {
+
+    @Param({"50", "200", "5000"})
+    private int capacity;
+
+    private double[] showRates;
+    private ForkJoinPool pool;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void createHistory() {
+        SplittableRandom random = new SplittableRandom(42);
+        showRates = new double[40];
+        for (int i = 0; i < showRates.length; i++) {
+            showRates[i] = 0.7 + random.nextDouble() * 0.25;
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int recommend() {
+        return OverbookingSimulator.recommend(showRates, capacity, 0.95, 100_000, 1.5, seed++, pool);
+    }
+}
@@ -0,0 +1,133 @@
+package com.eventchain.config;
+
+import com.eventchain.exception.GlobalExceptionHandler.ErrorResponse;
+import com.eventchain.security.UserPrincipal;
+import com.eventchain.service.IdempotencyStore;
+import com.eventchain.service.IdempotentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Replays the first response to a POST sent with an {@code Idempotency-Key}
+ * header instead of running it again, so a client retrying apply, checkout or
+ * check-in over a flaky connection costs a lookup rather than a transaction.
+ * Keys are scoped to the authenticated user. Server errors are not recorded,
+ * so a request that failed on our side can be retried with the same key.
+ * Runs after the security chain, which has resolved the user by then.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_LENGTH = 65535;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final List<String> paths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper,
+                             @Value("${app.idempotency.paths:}") List<String> paths) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = paths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
+            // The endpoint will reject the request anyway
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        Long userId = principal.getId();
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+
+        IdempotentResponse stored = store.find(userId, key).orElse(null);
+        if (stored != null) {
+            replay(stored, method, path, response);
+            return;
+        }
+        if (!store.begin(userId, key)) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            // Another thread may have finished the same key between the lookup and begin()
+            stored = store.findRecent(userId, key).orElse(null);
+            if (stored != null) {
+                replay(stored, method, path, response);
+                return;
+            }
+            filterChain.doFilter(request, wrapper);
+            byte[] body = wrapper.getContentAsByteArray();
+            if (wrapper.getStatus() < 500 && body.length <= MAX_BODY_LENGTH) {
+                store.save(userId, key, method, path, wrapper.getStatus(), wrapper.getContentType(),
+                        new String(body, StandardCharsets.UTF_8));
+            }
+        } finally {
+            store.finish(userId, key);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, String method, String path,
+                        HttpServletResponse response) throws IOException {
+        if (!stored.answers(method, path)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message, status.value()));
+    }
+}
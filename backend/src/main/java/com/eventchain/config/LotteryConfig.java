@@ -0,0 +1,33 @@
+package com.eventchain.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+@EnableScheduling
+public class LotteryConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor lotteryExecutor(@Value("${lottery.job.workers:2}") int workers,
+                                                  @Value("${lottery.job.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("lottery-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Runs the overbooking simulation's trials in parallel, kept apart from the common pool. */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool overbookingPool(@Value("${lottery.overbooking.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
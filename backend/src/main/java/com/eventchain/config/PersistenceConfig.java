@@ -0,0 +1,15 @@
+package com.eventchain.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    /** Lets {@link StatementBudgetFilter} see how many statements each request runs. */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", new StatementCounter());
+    }
+}
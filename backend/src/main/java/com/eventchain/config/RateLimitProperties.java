@@ -0,0 +1,61 @@
+package com.eventchain.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route token bucket limits under {@code app.rate-limit}. A route's
+ * pattern may capture {@code {eventId}}, which enables its per-event bucket;
+ * the per-user bucket applies to authenticated callers. Either limit can be
+ * left out.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    /** Buckets untouched for this long are dropped; a returning key starts with a full bucket. */
+    private Duration idleTtl = Duration.ofMinutes(10);
+
+    private long maxKeys = 100_000;
+
+    @Valid
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        @NotBlank
+        private String name;
+        @NotBlank
+        private String method = "POST";
+        @NotBlank
+        private String pattern;
+        @Valid
+        private Limit perUser;
+        @Valid
+        private Limit perEvent;
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        /** Requests allowed in a burst. */
+        @Positive
+        private int capacity;
+        /** Steady-state requests per second once the burst is spent. */
+        @Positive
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,29 @@
+package com.eventchain.controller;
+
+import com.eventchain.dto.AnalyticsOverviewDto;
+import com.eventchain.service.AnalyticsOverviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final AnalyticsOverviewService analyticsOverviewService;
+
+    @GetMapping("/overview")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ORG_ADMIN')")
+    public ResponseEntity<AnalyticsOverviewDto> getOverview(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsOverviewService.getOverview(from, to));
+    }
+}
@@ -1,8 +1,12 @@
 package com.eventchain.controller;
 
 import com.eventchain.dto.ApplicationDto;
+import com.eventchain.dto.ApplicationIntakeDto;
+import com.eventchain.dto.ApplicationPageDto;
+import com.eventchain.service.ApplicationIntakeService;
 import com.eventchain.service.ApplicationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -13,12 +17,32 @@ import java.util.List;
 @RequestMapping("/api/applications")
 @RequiredArgsConstructor
 public class ApplicationController {
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
     private final ApplicationService applicationService;
+    private final ApplicationIntakeService applicationIntakeService;
     private final com.eventchain.service.UserService userService;
 
+    /** Events with a waiting room also need the admitted token from /api/waiting-room in X-Queue-Token. */
     @PostMapping("/events/{eventId}/apply")
-    public ResponseEntity<ApplicationDto> apply(@PathVariable Long eventId, Authentication auth) {
-        return ResponseEntity.ok(applicationService.apply(eventId, auth));
+    public ResponseEntity<ApplicationDto> apply(@PathVariable Long eventId,
+                                                @RequestHeader(value = QUEUE_TOKEN_HEADER, required = false) String queueToken,
+                                                Authentication auth) {
+        return ResponseEntity.ok(applicationService.apply(eventId, queueToken, auth));
+    }
+
+    /** High-throughput variant of apply: queued for a batch insert and acknowledged before it is written. */
+    @PostMapping("/events/{eventId}/intake")
+    public ResponseEntity<ApplicationIntakeDto> intake(@PathVariable Long eventId,
+                                                       @RequestHeader(value = QUEUE_TOKEN_HEADER, required = false) String queueToken,
+                                                       Authentication auth) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(applicationIntakeService.submit(eventId, queueToken, auth));
+    }
+
+    /** Outcome of a request made to the intake endpoint above. */
+    @GetMapping("/intake/{intakeId}")
+    public ResponseEntity<ApplicationIntakeDto> getIntake(@PathVariable String intakeId, Authentication auth) {
+        return ResponseEntity.ok(applicationIntakeService.getIntake(intakeId, auth));
     }
 
     @GetMapping("/events/{eventId}")
@@ -26,6 +50,14 @@ public class ApplicationController {
         return ResponseEntity.ok(applicationService.getApplicationsByEvent(eventId));
     }
 
+    /** Keyset-paginated alternative to the full listing above; pass the returned nextCursor to continue. */
+    @GetMapping("/events/{eventId}/page")
+    public ResponseEntity<ApplicationPageDto> getPageByEvent(@PathVariable Long eventId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(applicationService.getApplicantPage(eventId, cursor, size));
+    }
+
     @GetMapping("/me")
     public ResponseEntity<List<ApplicationDto>> getMyApplications(Authentication auth) {
         var user = userService.getCurrentUser(auth);
@@ -1,32 +1,40 @@
 package com.eventchain.controller;
 
 import com.eventchain.dto.*;
+import com.eventchain.service.ActivitySeriesService;
+import com.eventchain.service.EventCatalogCache;
 import com.eventchain.service.EventService;
+import com.eventchain.service.FunnelService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/events")
 @RequiredArgsConstructor
 public class EventController {
     private final EventService eventService;
+    private final EventCatalogCache eventCatalogCache;
+    private final ActivitySeriesService activitySeriesService;
+    private final FunnelService funnelService;
 
     @GetMapping
-    public ResponseEntity<Page<EventDto>> getEvents(
+    public ResponseEntity<byte[]> getEvents(
             @RequestParam(required = false, defaultValue = "OPEN") String status,
-            Pageable pageable) {
-        return ResponseEntity.ok(eventService.getEvents(status, pageable));
+            Pageable pageable, WebRequest request) {
+        return cached(eventCatalogCache.getEvents(status, pageable), request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventDto> getEvent(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<byte[]> getEvent(@PathVariable Long id, WebRequest request) {
+        return cached(eventCatalogCache.getEvent(id), request);
     }
 
     @PostMapping
@@ -53,4 +61,32 @@ public class EventController {
     public ResponseEntity<EventAnalyticsDto> getAnalytics(@PathVariable Long id, Authentication auth) {
         return ResponseEntity.ok(eventService.getAnalytics(id, auth));
     }
+
+    @GetMapping("/{id}/analytics/series")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ORG_ADMIN','EVENT_HEAD','TEAM_MEMBER')")
+    public ResponseEntity<ActivitySeriesDto> getActivitySeries(@PathVariable Long id,
+                                                               @RequestParam(defaultValue = "60") int minutes) {
+        return ResponseEntity.ok(activitySeriesService.getSeries(id, minutes));
+    }
+
+    @GetMapping("/{id}/analytics/funnel")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ORG_ADMIN','EVENT_HEAD','TEAM_MEMBER')")
+    public ResponseEntity<EventFunnelDto> getFunnel(@PathVariable Long id) {
+        return ResponseEntity.ok(funnelService.getFunnel(id));
+    }
+
+    /** Answers 304 when the client's validators still match, otherwise the cached body. */
+    private static ResponseEntity<byte[]> cached(EventCatalogCache.Json json, WebRequest request) {
+        if (request.checkNotModified(json.etag(), json.lastModified())) {
+            return null;
+        }
+        // no-cache lets browsers keep the body but revalidate every time, and stops the no-store default
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(json.etag());
+        if (json.lastModified() >= 0) {
+            response.lastModified(json.lastModified());
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(json.body());
+    }
 }
@@ -1,7 +1,9 @@
 package com.eventchain.controller;
 
+import com.eventchain.dto.LotteryJobDto;
 import com.eventchain.service.LotteryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -15,8 +17,15 @@ public class LotteryController {
 
     @PostMapping("/{eventId}/lottery/trigger")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','ORG_ADMIN','EVENT_HEAD')")
-    public ResponseEntity<Void> triggerLottery(@PathVariable Long eventId, Authentication auth) {
-        lotteryService.triggerLottery(eventId, auth);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<LotteryJobDto> triggerLottery(@PathVariable Long eventId, Authentication auth) {
+        LotteryJobDto job = lotteryService.triggerLottery(eventId, auth);
+        HttpStatus status = "COMPLETED".equals(job.getStatus()) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(job);
+    }
+
+    @GetMapping("/{eventId}/lottery/status")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ORG_ADMIN','EVENT_HEAD')")
+    public ResponseEntity<LotteryJobDto> getLotteryStatus(@PathVariable Long eventId) {
+        return ResponseEntity.ok(lotteryService.getStatus(eventId));
     }
 }
@@ -0,0 +1,32 @@
+package com.eventchain.controller;
+
+import com.eventchain.dto.QueueTicketDto;
+import com.eventchain.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import static com.eventchain.controller.ApplicationController.QUEUE_TOKEN_HEADER;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+    private final WaitingRoomService waitingRoomService;
+
+    /** Joins the queue; a client that already holds a token sends it back to keep its place. */
+    @PostMapping("/events/{eventId}/join")
+    public ResponseEntity<QueueTicketDto> join(@PathVariable Long eventId,
+                                               @RequestHeader(value = QUEUE_TOKEN_HEADER, required = false) String queueToken,
+                                               Authentication auth) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, queueToken, auth));
+    }
+
+    @GetMapping("/events/{eventId}/status")
+    public ResponseEntity<QueueTicketDto> status(@PathVariable Long eventId,
+                                                 @RequestHeader(QUEUE_TOKEN_HEADER) String queueToken,
+                                                 Authentication auth) {
+        return ResponseEntity.ok(waitingRoomService.status(eventId, queueToken, auth));
+    }
+}
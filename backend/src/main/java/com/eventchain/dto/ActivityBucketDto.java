@@ -0,0 +1,19 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityBucketDto {
+    private LocalDateTime bucketStart;
+    private Long applications;
+    private Long payments;
+    private Long checkIns;
+}
@@ -0,0 +1,19 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One bucket per minute, oldest first and ending with the current minute; quiet minutes are zero. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitySeriesDto {
+    private Long eventId;
+    private Integer bucketSeconds;
+    private List<ActivityBucketDto> buckets;
+}
@@ -0,0 +1,41 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Totals across the events dated in [from, to], with application counts by
+ * current status. Funnel percentages: selection is applicants who won a seat
+ * (selected or paid), payment is paid out of those, check-in is checked-in
+ * tickets out of minted ones, certificates are out of check-ins.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsOverviewDto {
+    private LocalDate from;
+    private LocalDate to;
+    private Long totalEvents;
+    private Map<String, Long> eventsByStatus;
+    private Long totalApplicants;
+    private Long selectedCount;
+    private Long waitlistedCount;
+    private Long paidCount;
+    private Long nftsMinted;
+    private Long checkedInCount;
+    private Long certificatesIssued;
+    private BigDecimal revenue;
+    private Double selectionPercentage;
+    private Double paymentPercentage;
+    private Double checkInPercentage;
+    private Double certificatePercentage;
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,19 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationIntakeDto {
+    private String intakeId;
+    private Long eventId;
+    /** QUEUED, then APPLIED, DUPLICATE, CLOSED or FAILED once written. */
+    private String status;
+    private Long applicationId;
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationPageDto {
+    private List<ApplicationDto> items;
+    /** Opaque cursor for the next page, or null when this is the last one. */
+    private String nextCursor;
+}
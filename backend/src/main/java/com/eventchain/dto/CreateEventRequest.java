@@ -1,9 +1,12 @@
 package com.eventchain.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
@@ -41,6 +44,17 @@ public class CreateEventRequest {
     @Future(message = "Lottery deadline must be in the future")
     private LocalDateTime lotteryDeadline;
 
+    @Pattern(regexp = "UNIFORM|WEIGHTED", message = "Lottery mode must be UNIFORM or WEIGHTED")
+    private String lotteryMode;
+
+    /** Probability of not exceeding capacity once no-shows are accounted for; null selects exactly maxSeats. */
+    @DecimalMin(value = "0.5", message = "Overbooking target must be at least 0.5")
+    @DecimalMax(value = "0.999", message = "Overbooking target must be at most 0.999")
+    private Double overbookingTarget;
+
+    /** Queue applicants behind a waiting room when the event opens; see WaitingRoomService. */
+    private Boolean waitingRoom;
+
     public String getTitle() {
         return title;
     }
@@ -104,4 +118,28 @@ public class CreateEventRequest {
     public void setLotteryDeadline(LocalDateTime lotteryDeadline) {
         this.lotteryDeadline = lotteryDeadline;
     }
+
+    public String getLotteryMode() {
+        return lotteryMode;
+    }
+
+    public void setLotteryMode(String lotteryMode) {
+        this.lotteryMode = lotteryMode;
+    }
+
+    public Double getOverbookingTarget() {
+        return overbookingTarget;
+    }
+
+    public void setOverbookingTarget(Double overbookingTarget) {
+        this.overbookingTarget = overbookingTarget;
+    }
+
+    public Boolean getWaitingRoom() {
+        return waitingRoom;
+    }
+
+    public void setWaitingRoom(Boolean waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
 }
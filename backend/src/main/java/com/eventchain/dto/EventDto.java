@@ -22,6 +22,9 @@ public class EventDto {
     private BigDecimal price;
     private Integer maxSeats;
     private LocalDateTime lotteryDeadline;
+    private String lotteryMode;
+    private Double overbookingTarget;
+    private Boolean waitingRoom;
     private String status;
     private Long createdBy;
     private LocalDateTime createdAt;
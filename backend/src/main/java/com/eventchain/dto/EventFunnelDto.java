@@ -0,0 +1,18 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFunnelDto {
+    private Long eventId;
+    private FunnelCohortDto totals;
+    private List<FunnelCohortDto> cohorts;
+}
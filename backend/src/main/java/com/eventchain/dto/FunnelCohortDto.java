@@ -0,0 +1,25 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Applicants who applied in one clock hour, by the furthest funnel stages they have reached. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelCohortDto {
+    private LocalDateTime cohortStart;
+    /** Hours since the event's first cohort, so 0 is the hour applications opened. */
+    private Long hour;
+    private Long applied;
+    private Long selected;
+    private Long paid;
+    private Long minted;
+    private Long checkedIn;
+    private Long certified;
+}
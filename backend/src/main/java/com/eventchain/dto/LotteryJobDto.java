@@ -0,0 +1,25 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LotteryJobDto {
+    private Long jobId;
+    private Long eventId;
+    private String status;
+    private Long totalApplicants;
+    private Long processed;
+    private Double progressPercentage;
+    private Integer selectedSeats;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,18 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Broadcast to /topic/event/{eventId}/queue; clients compare admittedThrough with their own position. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueStatusDto {
+    private Long eventId;
+    private Long admittedThrough;
+    private Long waiting;
+    private Double admitPerSecond;
+}
@@ -0,0 +1,20 @@
+package com.eventchain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueTicketDto {
+    private Long eventId;
+    private String token;
+    private Long position;
+    /** Every position up to and including this one may apply. */
+    private Long admittedThrough;
+    private Boolean admitted;
+    private Long estimatedWaitSeconds;
+}
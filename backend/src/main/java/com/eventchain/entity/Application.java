@@ -7,7 +7,13 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_application_user_event", columnNames = {"user_id", "event_id"})
+}, indexes = {
+        @Index(name = "idx_application_event_status_lottery_key", columnList = "event_id, status, lottery_key, id"),
+        @Index(name = "idx_application_event_status_order", columnList = "event_id, status, application_order"),
+        @Index(name = "idx_application_event_created", columnList = "event_id, created_at, id")
+})
 @Getter
 @Setter
 public class Application {
@@ -32,6 +38,16 @@ public class Application {
     @Column(name = "lottery_round")
     private Integer lotteryRound = 1;
 
+    @Column(name = "lottery_key")
+    private Long lotteryKey;
+
+    /** Number of lottery entries this application holds in a WEIGHTED draw. */
+    @Column(name = "lottery_weight", nullable = false)
+    private Integer lotteryWeight = 1;
+
+    @Column(name = "selected_at")
+    private LocalDateTime selectedAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -86,6 +102,30 @@ public class Application {
         this.lotteryRound = lotteryRound;
     }
 
+    public Long getLotteryKey() {
+        return lotteryKey;
+    }
+
+    public void setLotteryKey(Long lotteryKey) {
+        this.lotteryKey = lotteryKey;
+    }
+
+    public Integer getLotteryWeight() {
+        return lotteryWeight;
+    }
+
+    public void setLotteryWeight(Integer lotteryWeight) {
+        this.lotteryWeight = lotteryWeight;
+    }
+
+    public LocalDateTime getSelectedAt() {
+        return selectedAt;
+    }
+
+    public void setSelectedAt(LocalDateTime selectedAt) {
+        this.selectedAt = selectedAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
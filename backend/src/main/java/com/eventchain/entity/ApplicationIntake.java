@@ -0,0 +1,38 @@
+package com.eventchain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/** What became of one request to the write-behind intake, written with the batch that handled it. */
+@Entity
+@Table(name = "application_intakes",
+        indexes = @Index(name = "idx_application_intake_completed", columnList = "completed_at"))
+@Getter
+@Setter
+public class ApplicationIntake {
+    @Id
+    @Column(name = "intake_id", length = 36)
+    private String intakeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    /** APPLIED, DUPLICATE, CLOSED or FAILED. */
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "application_id")
+    private Long applicationId;
+
+    @Column(length = 255)
+    private String error;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -41,6 +41,15 @@ public class Event {
     @Column(nullable = false, length = 50)
     private String status = "DRAFT";
 
+    @Column(name = "lottery_mode", nullable = false, length = 20)
+    private String lotteryMode = "UNIFORM";
+
+    @Column(name = "overbooking_target")
+    private Double overbookingTarget;
+
+    @Column(name = "waiting_room", nullable = false)
+    private Boolean waitingRoom = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
@@ -131,6 +140,30 @@ public class Event {
         this.status = status;
     }
 
+    public String getLotteryMode() {
+        return lotteryMode;
+    }
+
+    public void setLotteryMode(String lotteryMode) {
+        this.lotteryMode = lotteryMode;
+    }
+
+    public Double getOverbookingTarget() {
+        return overbookingTarget;
+    }
+
+    public void setOverbookingTarget(Double overbookingTarget) {
+        this.overbookingTarget = overbookingTarget;
+    }
+
+    public Boolean getWaitingRoom() {
+        return waitingRoom;
+    }
+
+    public void setWaitingRoom(Boolean waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
+
     public User getCreatedBy() {
         return createdBy;
     }
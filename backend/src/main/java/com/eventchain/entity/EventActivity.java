@@ -0,0 +1,36 @@
+package com.eventchain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/** Activity on one event during one minute, accumulated from each node's in-memory buckets. */
+@Entity
+@Table(name = "event_activity",
+        uniqueConstraints = @UniqueConstraint(name = "uk_event_activity_minute",
+                columnNames = {"event_id", "bucket_start"}),
+        indexes = @Index(name = "idx_event_activity_bucket", columnList = "bucket_start"))
+@Getter
+@Setter
+public class EventActivity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long applications = 0L;
+
+    @Column(nullable = false)
+    private Long payments = 0L;
+
+    @Column(name = "check_ins", nullable = false)
+    private Long checkIns = 0L;
+}
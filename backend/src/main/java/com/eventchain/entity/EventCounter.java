@@ -0,0 +1,53 @@
+package com.eventchain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals behind an event's analytics, kept in step with the source
+ * tables by atomic increments in the transactions that change them.
+ * Application counts mirror the current status of each application.
+ */
+@Entity
+@Table(name = "event_counters")
+@Getter
+@Setter
+public class EventCounter {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long applications = 0L;
+
+    @Column(nullable = false)
+    private Long selected = 0L;
+
+    @Column(nullable = false)
+    private Long waitlisted = 0L;
+
+    @Column(nullable = false)
+    private Long paid = 0L;
+
+    @Column(nullable = false)
+    private Long minted = 0L;
+
+    @Column(name = "checked_in", nullable = false)
+    private Long checkedIn = 0L;
+
+    @Column(nullable = false)
+    private Long certificates = 0L;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
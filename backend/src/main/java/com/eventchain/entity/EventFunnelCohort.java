@@ -0,0 +1,48 @@
+package com.eventchain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far the applicants who applied to an event during one clock hour have
+ * got. Each stage counts applications that ever reached it, so the counts only
+ * grow and a later release or no-show does not take anyone out of an earlier stage.
+ */
+@Entity
+@Table(name = "event_funnel",
+        uniqueConstraints = @UniqueConstraint(name = "uk_event_funnel_cohort",
+                columnNames = {"event_id", "cohort_start"}))
+@Getter
+@Setter
+public class EventFunnelCohort {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "cohort_start", nullable = false)
+    private LocalDateTime cohortStart;
+
+    @Column(nullable = false)
+    private Long applied = 0L;
+
+    @Column(nullable = false)
+    private Long selected = 0L;
+
+    @Column(nullable = false)
+    private Long paid = 0L;
+
+    @Column(nullable = false)
+    private Long minted = 0L;
+
+    @Column(name = "checked_in", nullable = false)
+    private Long checkedIn = 0L;
+
+    @Column(nullable = false)
+    private Long certified = 0L;
+}
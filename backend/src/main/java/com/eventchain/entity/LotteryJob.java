@@ -0,0 +1,76 @@
+package com.eventchain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "lottery_jobs")
+@Getter
+@Setter
+public class LotteryJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false, unique = true)
+    private Event event;
+
+    @Column(nullable = false, length = 30)
+    private String status = "QUEUED";
+
+    @Column(name = "total_applicants", nullable = false)
+    private Long totalApplicants = 0L;
+
+    /** Number of applicants already written, i.e. the next application_order minus one. */
+    @Column(nullable = false)
+    private Long processed = 0L;
+
+    @Column(name = "selected_seats", nullable = false)
+    private Integer selectedSeats;
+
+    @Column(name = "lottery_round", nullable = false)
+    private Integer lotteryRound = 1;
+
+    @Column(name = "lottery_mode", nullable = false, length = 20)
+    private String lotteryMode = "UNIFORM";
+
+    /** Seed for draws computed in memory, kept so a resumed job reproduces the same order. */
+    @Column(nullable = false)
+    private Long seed;
+
+    @Column(name = "owner_token", length = 36)
+    private String ownerToken;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
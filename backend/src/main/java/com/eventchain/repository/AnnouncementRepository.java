@@ -1,13 +1,22 @@
 package com.eventchain.repository;
 
+import com.eventchain.dto.AnnouncementDto;
 import com.eventchain.entity.Announcement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
-    List<Announcement> findByEventIdOrderByCreatedAtDesc(Long eventId);
-    List<Announcement> findByEventIdIsNullOrderByCreatedAtDesc();
+    String ANNOUNCEMENT_DTO_SELECT = "SELECT new com.eventchain.dto.AnnouncementDto(a.id, a.event.id, a.title, " +
+            "a.content, a.type, a.createdBy.id, a.createdAt) FROM Announcement a ";
+
+    @Query(ANNOUNCEMENT_DTO_SELECT + "WHERE a.event.id = :eventId ORDER BY a.createdAt DESC")
+    List<AnnouncementDto> findDtosByEventId(@Param("eventId") Long eventId);
+
+    @Query(ANNOUNCEMENT_DTO_SELECT + "WHERE a.event IS NULL ORDER BY a.createdAt DESC")
+    List<AnnouncementDto> findPublicDtos();
 }
@@ -0,0 +1,20 @@
+package com.eventchain.repository;
+
+import com.eventchain.entity.ApplicationIntake;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ApplicationIntakeRepository extends JpaRepository<ApplicationIntake, String>,
+        ApplicationIntakeRepositoryCustom {
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ApplicationIntake i WHERE i.completedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,14 @@
+package com.eventchain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ApplicationIntakeRepositoryCustom {
+    /** Records the outcomes in one JDBC batch; an intake id already recorded keeps its first outcome. */
+    void insertOutcomes(List<Outcome> outcomes);
+
+    /** {@code applicationId} is null unless the status is APPLIED or DUPLICATE. */
+    record Outcome(String intakeId, long userId, long eventId, String status, Long applicationId,
+                   String error, LocalDateTime completedAt) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventchain.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class ApplicationIntakeRepositoryImpl implements ApplicationIntakeRepositoryCustom {
+    private static final String INSERT_IGNORE =
+            "INSERT IGNORE INTO application_intakes " +
+            "(intake_id, user_id, event_id, status, application_id, error, completed_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApplicationIntakeRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertOutcomes(List<Outcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_IGNORE, outcomes, outcomes.size(), (ps, outcome) -> {
+            ps.setString(1, outcome.intakeId());
+            ps.setLong(2, outcome.userId());
+            ps.setLong(3, outcome.eventId());
+            ps.setString(4, outcome.status());
+            if (outcome.applicationId() != null) {
+                ps.setLong(5, outcome.applicationId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+            ps.setString(6, outcome.error());
+            ps.setTimestamp(7, Timestamp.valueOf(outcome.completedAt()));
+        });
+    }
+}
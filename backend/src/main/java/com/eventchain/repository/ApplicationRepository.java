@@ -1,6 +1,8 @@
 package com.eventchain.repository;
 
+import com.eventchain.dto.ApplicationDto;
 import com.eventchain.entity.Application;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -8,18 +10,46 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, Long> {
+public interface ApplicationRepository extends JpaRepository<Application, Long>, ApplicationRepositoryCustom {
+    String APPLICANT_PAGE_SELECT = "SELECT new com.eventchain.dto.ApplicationDto(" +
+            "a.id, u.id, a.event.id, a.status, a.applicationOrder, a.lotteryRound, a.createdAt, " +
+            "u.email, u.displayName) FROM Application a JOIN a.user u ";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Application a WHERE a.id = :id")
+    Optional<Application> findByIdForUpdate(@Param("id") Long id);
+
     List<Application> findByEventIdOrderByCreatedAtAsc(Long eventId);
     List<Application> findByEventIdAndStatus(Long eventId, String status);
     Optional<Application> findByUserIdAndEventId(Long userId, Long eventId);
     boolean existsByUserIdAndEventId(Long userId, Long eventId);
+    long countByEventIdAndStatus(Long eventId, String status);
+    long countByEventIdAndStatusIn(Long eventId, Collection<String> statuses);
+    boolean existsByEventIdAndStatusAndLotteryKeyIsNull(Long eventId, String status);
     List<Application> findByUserId(Long userId);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT a FROM Application a WHERE a.event.id = :eventId AND a.status = 'APPLIED' ORDER BY a.createdAt")
-    List<Application> findApplicantsForLottery(@Param("eventId") Long eventId);
+    @Query(APPLICANT_PAGE_SELECT + "WHERE a.event.id = :eventId ORDER BY a.createdAt ASC, a.id ASC")
+    List<ApplicationDto> findApplicantDtosByEventId(@Param("eventId") Long eventId);
+
+    @Query(APPLICANT_PAGE_SELECT + "WHERE u.id = :userId ORDER BY a.createdAt ASC, a.id ASC")
+    List<ApplicationDto> findApplicantDtosByUserId(@Param("userId") Long userId);
+
+    @Query(APPLICANT_PAGE_SELECT + "WHERE a.event.id = :eventId ORDER BY a.createdAt ASC, a.id ASC")
+    List<ApplicationDto> findApplicantPage(@Param("eventId") Long eventId, Limit limit);
+
+    /** Keyset page: the applications strictly after {@code (createdAt, id)} in listing order. */
+    @Query(APPLICANT_PAGE_SELECT + "WHERE a.event.id = :eventId " +
+            "AND (a.createdAt > :createdAt OR (a.createdAt = :createdAt AND a.id > :id)) " +
+            "ORDER BY a.createdAt ASC, a.id ASC")
+    List<ApplicationDto> findApplicantPageAfter(@Param("eventId") Long eventId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
 }
@@ -0,0 +1,82 @@
+package com.eventchain.repository;
+
+import java.time.LocalDateTime;
+
+public interface ApplicationRepositoryCustom {
+    /**
+     * Streams the ids of every APPLIED application for an event into a
+     * primitive array, without materialising entities.
+     */
+    long[] findApplicantIdsForLottery(Long eventId);
+
+    /**
+     * APPLIED application ids in lottery_key order, read from the
+     * (event_id, lottery_key) index. Only meaningful once every applicant has a key.
+     */
+    long[] findApplicantIdsByLotteryKey(Long eventId);
+
+    /** The first {@code limit} APPLIED ids in lottery_key order. */
+    long[] findApplicantIdsByLotteryKey(Long eventId, int limit);
+
+    /** Every APPLIED id of the event in id order, with its lottery_weight at the same index. */
+    WeightedApplicants findWeightedApplicants(Long eventId);
+
+    /** Up to {@code limit} APPLIED ids that were created without a lottery_key. */
+    long[] findUnkeyedApplicantIds(Long eventId, int limit);
+
+    /** Sets {@code keys[i]} as the lottery_key of {@code ids[i]} unless that row already has one. */
+    int assignLotteryKeys(long[] ids, long[] keys);
+
+    /**
+     * Overwrites lottery_key with {@code firstRank + i} for {@code orderedIds[i]},
+     * so key order reproduces the given order.
+     */
+    int writeLotteryRanks(long[] orderedIds, long firstRank);
+
+    /**
+     * Writes a lottery outcome for the given applications in JDBC batches.
+     * {@code orderedIds[i]} gets application_order {@code firstPosition + i + 1};
+     * positions up to {@code selectedSeats} become SELECTED, the rest WAITLISTED.
+     */
+    int applyLotteryResults(long[] orderedIds, int firstPosition, int selectedSeats, int lotteryRound);
+
+    /** user_id of every application to the event, whatever its status. */
+    long[] findApplicantUserIds(Long eventId);
+
+    /** SELECTED ids whose selection is older than {@code selectedBefore}, i.e. whose payment window has lapsed. */
+    long[] findExpiredSelectionIds(Long eventId, LocalDateTime selectedBefore, int limit);
+
+    /** Moves still-SELECTED applications to RELEASED and returns how many were released. */
+    int releaseSelections(long[] ids);
+
+    /** The next {@code limit} WAITLISTED ids in application_order. */
+    long[] findWaitlistHead(Long eventId, int limit);
+
+    /** Moves still-WAITLISTED applications to SELECTED in the given lottery round. */
+    int promoteWaitlisted(long[] ids, int lotteryRound);
+
+    /**
+     * Inserts one APPLIED row, but only while the event row still reads OPEN. The
+     * status is read by the insert itself, so a lottery that closed the event on
+     * another node is seen even when this node's snapshot is stale. An existing
+     * application fails on uk_application_user_event as a regular insert would.
+     *
+     * @return the new application id, or 0 if the event is no longer OPEN
+     */
+    long insertApplicationIfOpen(long userId, long eventId, long lotteryKey, int lotteryWeight, LocalDateTime createdAt);
+
+    /**
+     * Inserts APPLIED rows for {@code (userIds[i], eventIds[i])} in JDBC batches.
+     * Pairs that already exist (uk_application_user_event) or whose event is no
+     * longer OPEN are skipped instead of failing the batch. WEIGHTED events get
+     * the same attendance-based weight as a regular apply.
+     *
+     * @return for each input pair, 1 if a row was inserted and 0 if it was skipped
+     */
+    int[] insertApplications(long[] userIds, long[] eventIds, long[] lotteryKeys, int maxBonusEntries);
+
+    /** The application id of each {@code (userIds[i], eventIds[i])} pair, or 0 where the pair has none. */
+    long[] findApplicationIds(long[] userIds, long[] eventIds);
+
+    record WeightedApplicants(long[] ids, int[] weights) {}
+}
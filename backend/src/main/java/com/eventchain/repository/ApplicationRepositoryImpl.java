@@ -0,0 +1,313 @@
+package com.eventchain.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+    private static final String SELECT_APPLICANT_IDS =
+            "SELECT id FROM applications WHERE event_id = ? AND status = 'APPLIED' ORDER BY id";
+    /**
+     * Drawn rows leave status APPLIED, so on idx_application_event_status_lottery_key
+     * each chunk reads only the rows still waiting rather than rescanning drawn ones.
+     */
+    private static final String SELECT_APPLICANT_IDS_BY_KEY =
+            "SELECT id FROM applications WHERE event_id = ? AND status = 'APPLIED' ORDER BY lottery_key, id";
+    private static final String SELECT_UNKEYED_APPLICANT_IDS =
+            "SELECT id FROM applications WHERE event_id = ? AND status = 'APPLIED' AND lottery_key IS NULL";
+    private static final String SELECT_WEIGHTED_APPLICANTS =
+            "SELECT id, lottery_weight FROM applications WHERE event_id = ? AND status = 'APPLIED' ORDER BY id";
+    private static final String UPDATE_LOTTERY_RANK =
+            "UPDATE applications SET lottery_key = ? WHERE id = ?";
+    private static final String UPDATE_LOTTERY_KEY =
+            "UPDATE applications SET lottery_key = ? WHERE id = ? AND lottery_key IS NULL";
+    private static final String UPDATE_LOTTERY_RESULT =
+            "UPDATE applications SET status = ?, application_order = ?, lottery_round = ?, selected_at = ?, updated_at = ? " +
+            "WHERE id = ?";
+    private static final String SELECT_APPLICANT_USER_IDS =
+            "SELECT user_id FROM applications WHERE event_id = ?";
+    private static final String SELECT_EXPIRED_SELECTION_IDS =
+            "SELECT id FROM applications WHERE event_id = ? AND status = 'SELECTED' AND selected_at < ? LIMIT ?";
+    private static final String UPDATE_RELEASE_SELECTION =
+            "UPDATE applications SET status = 'RELEASED', updated_at = ? WHERE id = ? AND status = 'SELECTED'";
+    private static final String SELECT_WAITLIST_HEAD =
+            "SELECT id FROM applications WHERE event_id = ? AND status = 'WAITLISTED' ORDER BY application_order LIMIT ?";
+    private static final String UPDATE_PROMOTE_WAITLISTED =
+            "UPDATE applications SET status = 'SELECTED', lottery_round = ?, selected_at = ?, updated_at = ? " +
+            "WHERE id = ? AND status = 'WAITLISTED'";
+    private static final String INSERT_SINGLE_APPLICATION_IF_OPEN =
+            "INSERT INTO applications " +
+            "(user_id, event_id, status, lottery_round, lottery_key, lottery_weight, created_at, updated_at) " +
+            "SELECT ?, e.id, 'APPLIED', 1, ?, ?, ?, ? FROM events e WHERE e.id = ? AND e.status = 'OPEN'";
+    private static final String INSERT_APPLICATION_IF_OPEN =
+            "INSERT IGNORE INTO applications " +
+            "(user_id, event_id, status, lottery_round, lottery_key, lottery_weight, created_at, updated_at) " +
+            "SELECT ?, e.id, 'APPLIED', 1, ?, " +
+            "CASE WHEN e.lottery_mode = 'WEIGHTED' THEN 1 + LEAST(" +
+            "(SELECT COUNT(*) FROM tickets t WHERE t.user_id = ? AND t.checked_in = TRUE), ?) ELSE 1 END, ?, ? " +
+            "FROM events e WHERE e.id = ? AND e.status = 'OPEN'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    /**
+     * Rows per round trip for the id scans. Connector/J only honours a positive
+     * fetch size with useCursorFetch=true on the URL (see application-mysql.yaml);
+     * without it the whole result set is buffered in the driver before the first
+     * row is handed over.
+     */
+    private final int fetchSize;
+
+    public ApplicationRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                     @Value("${lottery.bulk.batch-size:1000}") int batchSize,
+                                     @Value("${lottery.fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public long[] findApplicantIdsForLottery(Long eventId) {
+        return queryIds(SELECT_APPLICANT_IDS, eventId);
+    }
+
+    @Override
+    public long[] findApplicantIdsByLotteryKey(Long eventId) {
+        return queryIds(SELECT_APPLICANT_IDS_BY_KEY, eventId);
+    }
+
+    @Override
+    public long[] findApplicantIdsByLotteryKey(Long eventId, int limit) {
+        return queryIds(SELECT_APPLICANT_IDS_BY_KEY + " LIMIT ?", eventId, limit);
+    }
+
+    @Override
+    public WeightedApplicants findWeightedApplicants(Long eventId) {
+        LongArrayCollector ids = new LongArrayCollector();
+        LongArrayCollector weights = new LongArrayCollector();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = forwardOnly(con, SELECT_WEIGHTED_APPLICANTS);
+            ps.setLong(1, eventId);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            ids.add(rs.getLong(1));
+            weights.add(Math.max(1, rs.getInt(2)));
+        });
+        long[] rawWeights = weights.toArray();
+        int[] intWeights = new int[rawWeights.length];
+        for (int i = 0; i < rawWeights.length; i++) {
+            intWeights[i] = (int) rawWeights[i];
+        }
+        return new WeightedApplicants(ids.toArray(), intWeights);
+    }
+
+    @Override
+    public long[] findUnkeyedApplicantIds(Long eventId, int limit) {
+        return queryIds(SELECT_UNKEYED_APPLICANT_IDS + " LIMIT ?", eventId, limit);
+    }
+
+    private long[] queryIds(String sql, Object... params) {
+        LongArrayCollector ids = new LongArrayCollector();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = forwardOnly(con, sql);
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> ids.add(rs.getLong(1)));
+        return ids.toArray();
+    }
+
+    /** A forward-only, read-only statement fetching {@link #fetchSize} rows at a time from a server-side cursor. */
+    private PreparedStatement forwardOnly(Connection con, String sql) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        return ps;
+    }
+
+    @Override
+    public int assignLotteryKeys(long[] ids, long[] keys) {
+        int updated = 0;
+        for (int from = 0; from < ids.length; from += batchSize) {
+            int to = Math.min(from + batchSize, ids.length);
+            List<Object[]> args = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                args.add(new Object[]{keys[i], ids[i]});
+            }
+            updated += sum(jdbcTemplate.batchUpdate(UPDATE_LOTTERY_KEY, args));
+        }
+        return updated;
+    }
+
+    @Override
+    public int writeLotteryRanks(long[] orderedIds, long firstRank) {
+        int updated = 0;
+        for (int from = 0; from < orderedIds.length; from += batchSize) {
+            int to = Math.min(from + batchSize, orderedIds.length);
+            List<Object[]> args = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                args.add(new Object[]{firstRank + i, orderedIds[i]});
+            }
+            updated += sum(jdbcTemplate.batchUpdate(UPDATE_LOTTERY_RANK, args));
+        }
+        return updated;
+    }
+
+    @Override
+    public int applyLotteryResults(long[] orderedIds, int firstPosition, int selectedSeats, int lotteryRound) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = 0;
+        for (int from = 0; from < orderedIds.length; from += batchSize) {
+            int to = Math.min(from + batchSize, orderedIds.length);
+            List<Object[]> args = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int position = firstPosition + i;
+                boolean selected = position < selectedSeats;
+                args.add(new Object[]{
+                        selected ? "SELECTED" : "WAITLISTED",
+                        position + 1,
+                        lotteryRound,
+                        selected ? now : null,
+                        now,
+                        orderedIds[i]
+                });
+            }
+            updated += sum(jdbcTemplate.batchUpdate(UPDATE_LOTTERY_RESULT, args));
+        }
+        return updated;
+    }
+
+    @Override
+    public long[] findApplicantUserIds(Long eventId) {
+        return queryIds(SELECT_APPLICANT_USER_IDS, eventId);
+    }
+
+    @Override
+    public long[] findExpiredSelectionIds(Long eventId, LocalDateTime selectedBefore, int limit) {
+        return queryIds(SELECT_EXPIRED_SELECTION_IDS, eventId, Timestamp.valueOf(selectedBefore), limit);
+    }
+
+    @Override
+    public int releaseSelections(long[] ids) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            args.add(new Object[]{now, id});
+        }
+        return sum(jdbcTemplate.batchUpdate(UPDATE_RELEASE_SELECTION, args));
+    }
+
+    @Override
+    public long[] findWaitlistHead(Long eventId, int limit) {
+        return queryIds(SELECT_WAITLIST_HEAD, eventId, limit);
+    }
+
+    @Override
+    public int promoteWaitlisted(long[] ids, int lotteryRound) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            args.add(new Object[]{lotteryRound, now, now, id});
+        }
+        return sum(jdbcTemplate.batchUpdate(UPDATE_PROMOTE_WAITLISTED, args));
+    }
+
+    @Override
+    public long insertApplicationIfOpen(long userId, long eventId, long lotteryKey, int lotteryWeight,
+                                        LocalDateTime createdAt) {
+        Timestamp now = Timestamp.valueOf(createdAt);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        // Under REPEATABLE READ InnoDB reads the events row with a shared lock, so an in-flight status change wins
+        int inserted = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SINGLE_APPLICATION_IF_OPEN, new String[]{"id"});
+            ps.setLong(1, userId);
+            ps.setLong(2, lotteryKey);
+            ps.setInt(3, lotteryWeight);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setLong(6, eventId);
+            return ps;
+        }, keyHolder);
+        return inserted == 0 ? 0 : keyHolder.getKey().longValue();
+    }
+
+    @Override
+    public int[] insertApplications(long[] userIds, long[] eventIds, long[] lotteryKeys, int maxBonusEntries) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] inserted = new int[userIds.length];
+        for (int from = 0; from < userIds.length; from += batchSize) {
+            int to = Math.min(from + batchSize, userIds.length);
+            List<Object[]> args = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                args.add(new Object[]{userIds[i], lotteryKeys[i], userIds[i], maxBonusEntries, now, now, eventIds[i]});
+            }
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_APPLICATION_IF_OPEN, args);
+            for (int i = 0; i < counts.length; i++) {
+                // INSERT ... SELECT is never rewritten into a multi-row batch, so counts are per row
+                inserted[from + i] = counts[i] < 0 ? 1 : Math.min(counts[i], 1);
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public long[] findApplicationIds(long[] userIds, long[] eventIds) {
+        Map<Long, Map<Long, Long>> idsByEvent = new HashMap<>();
+        for (int from = 0; from < userIds.length; from += batchSize) {
+            int to = Math.min(from + batchSize, userIds.length);
+            // Row-value IN is answered from uk_application_user_event on both MySQL and H2
+            StringBuilder sql = new StringBuilder("SELECT id, user_id, event_id FROM applications WHERE (user_id, event_id) IN (");
+            Object[] args = new Object[(to - from) * 2];
+            for (int i = from; i < to; i++) {
+                sql.append(i > from ? ", (?, ?)" : "(?, ?)");
+                args[(i - from) * 2] = userIds[i];
+                args[(i - from) * 2 + 1] = eventIds[i];
+            }
+            jdbcTemplate.query(sql.append(')').toString(), (RowCallbackHandler) rs -> idsByEvent
+                    .computeIfAbsent(rs.getLong(3), eventId -> new HashMap<>()).put(rs.getLong(2), rs.getLong(1)), args);
+        }
+        long[] ids = new long[userIds.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idsByEvent.getOrDefault(eventIds[i], Map.of()).getOrDefault(userIds[i], 0L);
+        }
+        return ids;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // Drivers that rewrite batches report SUCCESS_NO_INFO (-2) per row
+            total += count < 0 ? 1 : count;
+        }
+        return total;
+    }
+
+    private static final class LongArrayCollector {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventchain.repository;
+
+import com.eventchain.dto.ActivityBucketDto;
+import com.eventchain.entity.EventActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventActivityRepository extends JpaRepository<EventActivity, Long>, EventActivityRepositoryCustom {
+    @Query("SELECT new com.eventchain.dto.ActivityBucketDto(a.bucketStart, a.applications, a.payments, a.checkIns) " +
+            "FROM EventActivity a WHERE a.eventId = :eventId AND a.bucketStart >= :from ORDER BY a.bucketStart")
+    List<ActivityBucketDto> findBuckets(@Param("eventId") Long eventId, @Param("from") LocalDateTime from);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EventActivity a WHERE a.bucketStart < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,12 @@
+package com.eventchain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventActivityRepositoryCustom {
+    /** Adds each increment to its event's bucket, creating the bucket row if it does not exist yet. */
+    void addAll(List<Increment> increments);
+
+    record Increment(Long eventId, LocalDateTime bucketStart, long applications, long payments, long checkIns) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.eventchain.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class EventActivityRepositoryImpl implements EventActivityRepositoryCustom {
+    // Adding rather than overwriting lets every node flush its own share of the same minute
+    private static final String UPSERT =
+            "INSERT INTO event_activity (event_id, bucket_start, applications, payments, check_ins) " +
+            "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE applications = applications + VALUES(applications), " +
+            "payments = payments + VALUES(payments), check_ins = check_ins + VALUES(check_ins)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventActivityRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addAll(List<Increment> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, increments, increments.size(), (ps, increment) -> {
+            ps.setLong(1, increment.eventId());
+            ps.setTimestamp(2, Timestamp.valueOf(increment.bucketStart()));
+            ps.setLong(3, increment.applications());
+            ps.setLong(4, increment.payments());
+            ps.setLong(5, increment.checkIns());
+        });
+    }
+}
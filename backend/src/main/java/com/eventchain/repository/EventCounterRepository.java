@@ -0,0 +1,18 @@
+package com.eventchain.repository;
+
+import com.eventchain.entity.EventCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventCounterRepository extends JpaRepository<EventCounter, Long>, EventCounterRepositoryCustom {
+    @Query("SELECT c.eventId FROM EventCounter c ORDER BY c.eventId")
+    List<Long> findAllEventIds();
+
+    @Query(value = "SELECT e.id FROM events e WHERE NOT EXISTS " +
+            "(SELECT 1 FROM event_counters c WHERE c.event_id = e.id) ORDER BY e.id", nativeQuery = true)
+    List<Long> findEventIdsWithoutCounters();
+}
@@ -0,0 +1,97 @@
+package com.eventchain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventCounterRepositoryCustom {
+    /**
+     * Adds {@code delta} to the event's counters in a single UPDATE, so
+     * concurrent writers never lose each other's changes.
+     *
+     * @return 0 if the event has no counters row yet
+     */
+    int increment(Long eventId, Delta delta);
+
+    /** Creates a zeroed counters row for the event unless it already has one. */
+    int insertEmpty(Long eventId);
+
+    /** Counts the event's analytics straight from the source tables in a single statement, without locking. */
+    Delta countFromSource(Long eventId);
+
+    /**
+     * Locks the event's counters row and overwrites it with values counted
+     * from the source tables. Must run in its own transaction; the counts are
+     * read after the lock is held, so a writer that already incremented is
+     * included and one that has not yet incremented adds itself afterwards.
+     *
+     * @return the counters before and after, or null if the row does not exist
+     */
+    Rebuilt rebuild(Long eventId);
+
+    /** Lowest and highest id of the events dated in [from, to), or null if there are none. */
+    long[] findEventIdRange(LocalDateTime from, LocalDateTime to);
+
+    /** Counters summed per event status over the events dated in [from, to) with ids in [firstId, lastId]. */
+    List<StatusTotals> sumByStatus(LocalDateTime from, LocalDateTime to, long firstId, long lastId);
+
+    record StatusTotals(String status, long events, Delta totals) {
+    }
+
+    record Rebuilt(Delta before, Delta after) {
+        public boolean drifted() {
+            // compareTo, because the stored and the summed revenue may differ in scale
+            return before.applications() != after.applications() || before.selected() != after.selected()
+                    || before.waitlisted() != after.waitlisted() || before.paid() != after.paid()
+                    || before.minted() != after.minted() || before.checkedIn() != after.checkedIn()
+                    || before.certificates() != after.certificates()
+                    || before.revenue().compareTo(after.revenue()) != 0;
+        }
+    }
+
+    /** A change to an event's counters, or from {@link #rebuild} their values. */
+    record Delta(long applications, long selected, long waitlisted, long paid,
+                 long minted, long checkedIn, long certificates, BigDecimal revenue) {
+        public static final Delta NONE = new Delta(0, 0, 0, 0, 0, 0, 0, BigDecimal.ZERO);
+
+        public static Delta applied(long count) {
+            return new Delta(count, 0, 0, 0, 0, 0, 0, BigDecimal.ZERO);
+        }
+
+        /** Counters for {@link ApplicationRepositoryCustom#applyLotteryResults} with the same arguments. */
+        public static Delta lotteryResults(int firstPosition, int count, int selectedSeats) {
+            long selected = Math.max(0, Math.min(count, selectedSeats - firstPosition));
+            return new Delta(0, selected, count - selected, 0, 0, 0, 0, BigDecimal.ZERO);
+        }
+
+        /** Moves {@code count} applications between statuses; statuses without a counter are ignored. */
+        public static Delta statusChanged(String from, String to, long count) {
+            long selected = ("SELECTED".equals(to) ? count : 0) - ("SELECTED".equals(from) ? count : 0);
+            long waitlisted = ("WAITLISTED".equals(to) ? count : 0) - ("WAITLISTED".equals(from) ? count : 0);
+            long paid = ("PAID".equals(to) ? count : 0) - ("PAID".equals(from) ? count : 0);
+            return new Delta(0, selected, waitlisted, paid, 0, 0, 0, BigDecimal.ZERO);
+        }
+
+        public static Delta ticketMinted() {
+            return new Delta(0, 0, 0, 0, 1, 0, 0, BigDecimal.ZERO);
+        }
+
+        public static Delta ticketCheckedIn() {
+            return new Delta(0, 0, 0, 0, 0, 1, 0, BigDecimal.ZERO);
+        }
+
+        public static Delta certificateIssued() {
+            return new Delta(0, 0, 0, 0, 0, 0, 1, BigDecimal.ZERO);
+        }
+
+        public static Delta revenue(BigDecimal amount) {
+            return new Delta(0, 0, 0, 0, 0, 0, 0, amount);
+        }
+
+        public Delta plus(Delta other) {
+            return new Delta(applications + other.applications, selected + other.selected,
+                    waitlisted + other.waitlisted, paid + other.paid, minted + other.minted,
+                    checkedIn + other.checkedIn, certificates + other.certificates, revenue.add(other.revenue));
+        }
+    }
+}
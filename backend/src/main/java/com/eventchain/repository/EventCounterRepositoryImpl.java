@@ -0,0 +1,108 @@
+package com.eventchain.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class EventCounterRepositoryImpl implements EventCounterRepositoryCustom {
+    private static final String INCREMENT =
+            "UPDATE event_counters SET applications = applications + ?, selected = selected + ?, " +
+            "waitlisted = waitlisted + ?, paid = paid + ?, minted = minted + ?, checked_in = checked_in + ?, " +
+            "certificates = certificates + ?, revenue = revenue + ?, updated_at = ? WHERE event_id = ?";
+    private static final String INSERT_EMPTY =
+            "INSERT IGNORE INTO event_counters (event_id, applications, selected, waitlisted, paid, minted, " +
+            "checked_in, certificates, revenue, updated_at) VALUES (?, 0, 0, 0, 0, 0, 0, 0, 0, ?)";
+    private static final String SELECT_FOR_UPDATE =
+            "SELECT applications, selected, waitlisted, paid, minted, checked_in, certificates, revenue " +
+            "FROM event_counters WHERE event_id = ? FOR UPDATE";
+    // One round trip with one pass per source table; applications are grouped by status, which the
+    // (event_id, status, ...) index answers on its own. Plain consistent reads take no locks, so a
+    // rebuild never blocks the writers it is counting.
+    private static final String SELECT_SOURCE_COUNTS =
+            "SELECT a.applications, a.selected, a.waitlisted, a.paid, t.minted, t.checked_in, " +
+            "c.certificates, p.revenue FROM " +
+            "(SELECT COALESCE(SUM(n), 0) AS applications, " +
+            "COALESCE(SUM(CASE WHEN status = 'SELECTED' THEN n ELSE 0 END), 0) AS selected, " +
+            "COALESCE(SUM(CASE WHEN status = 'WAITLISTED' THEN n ELSE 0 END), 0) AS waitlisted, " +
+            "COALESCE(SUM(CASE WHEN status = 'PAID' THEN n ELSE 0 END), 0) AS paid " +
+            "FROM (SELECT status, COUNT(*) AS n FROM applications WHERE event_id = ? GROUP BY status) s) a " +
+            "CROSS JOIN " +
+            "(SELECT COUNT(*) AS minted, COALESCE(SUM(CASE WHEN checked_in = TRUE THEN 1 ELSE 0 END), 0) AS checked_in " +
+            "FROM tickets WHERE event_id = ?) t CROSS JOIN " +
+            "(SELECT COUNT(*) AS certificates FROM certificates WHERE event_id = ?) c CROSS JOIN " +
+            "(SELECT COALESCE(SUM(pay.amount), 0) AS revenue FROM payments pay " +
+            "JOIN applications app ON app.id = pay.application_id " +
+            "WHERE app.event_id = ? AND pay.status = 'COMPLETED') p";
+    private static final String OVERWRITE =
+            "UPDATE event_counters SET applications = ?, selected = ?, waitlisted = ?, paid = ?, minted = ?, " +
+            "checked_in = ?, certificates = ?, revenue = ?, rebuilt_at = ?, updated_at = ? WHERE event_id = ?";
+
+    private static final String SELECT_EVENT_ID_RANGE =
+            "SELECT MIN(id), MAX(id) FROM events WHERE event_date >= ? AND event_date < ?";
+    // LEFT JOIN so an event still waiting for its counters row is counted as an event with no activity
+    private static final String SUM_BY_STATUS =
+            "SELECT e.status, COUNT(*), COALESCE(SUM(c.applications), 0), COALESCE(SUM(c.selected), 0), " +
+            "COALESCE(SUM(c.waitlisted), 0), COALESCE(SUM(c.paid), 0), COALESCE(SUM(c.minted), 0), " +
+            "COALESCE(SUM(c.checked_in), 0), COALESCE(SUM(c.certificates), 0), COALESCE(SUM(c.revenue), 0) " +
+            "FROM events e LEFT JOIN event_counters c ON c.event_id = e.id " +
+            "WHERE e.event_date >= ? AND e.event_date < ? AND e.id BETWEEN ? AND ? GROUP BY e.status";
+
+    private static final RowMapper<Delta> DELTA_MAPPER = (rs, rowNum) -> new Delta(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+            rs.getLong(5), rs.getLong(6), rs.getLong(7), rs.getBigDecimal(8));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventCounterRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int increment(Long eventId, Delta delta) {
+        return jdbcTemplate.update(INCREMENT, delta.applications(), delta.selected(), delta.waitlisted(),
+                delta.paid(), delta.minted(), delta.checkedIn(), delta.certificates(), delta.revenue(),
+                Timestamp.valueOf(LocalDateTime.now()), eventId);
+    }
+
+    @Override
+    public int insertEmpty(Long eventId) {
+        return jdbcTemplate.update(INSERT_EMPTY, eventId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public Delta countFromSource(Long eventId) {
+        return jdbcTemplate.queryForObject(SELECT_SOURCE_COUNTS, DELTA_MAPPER, eventId, eventId, eventId, eventId);
+    }
+
+    @Override
+    public long[] findEventIdRange(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject(SELECT_EVENT_ID_RANGE, (rs, rowNum) -> {
+            long first = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{first, rs.getLong(2)};
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    @Override
+    public List<StatusTotals> sumByStatus(LocalDateTime from, LocalDateTime to, long firstId, long lastId) {
+        return jdbcTemplate.query(SUM_BY_STATUS, (rs, rowNum) -> new StatusTotals(rs.getString(1), rs.getLong(2),
+                        new Delta(rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6), rs.getLong(7),
+                                rs.getLong(8), rs.getLong(9), rs.getBigDecimal(10))),
+                Timestamp.valueOf(from), Timestamp.valueOf(to), firstId, lastId);
+    }
+
+    @Override
+    public Rebuilt rebuild(Long eventId) {
+        List<Delta> current = jdbcTemplate.query(SELECT_FOR_UPDATE, DELTA_MAPPER, eventId);
+        if (current.isEmpty()) {
+            return null;
+        }
+        Delta fresh = countFromSource(eventId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(OVERWRITE, fresh.applications(), fresh.selected(), fresh.waitlisted(), fresh.paid(),
+                fresh.minted(), fresh.checkedIn(), fresh.certificates(), fresh.revenue(), now, now, eventId);
+        return new Rebuilt(current.get(0), fresh);
+    }
+}
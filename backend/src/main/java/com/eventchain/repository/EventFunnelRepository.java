@@ -0,0 +1,12 @@
+package com.eventchain.repository;
+
+import com.eventchain.entity.EventFunnelCohort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventFunnelRepository extends JpaRepository<EventFunnelCohort, Long>, EventFunnelRepositoryCustom {
+    List<EventFunnelCohort> findByEventIdOrderByCohortStart(Long eventId);
+}
@@ -0,0 +1,36 @@
+package com.eventchain.repository;
+
+import java.time.LocalDateTime;
+
+public interface EventFunnelRepositoryCustom {
+    /** Adds {@code count} to one stage of a cohort, creating the cohort row if needed. */
+    void increment(Long eventId, LocalDateTime cohortStart, Stage stage, long count);
+
+    /**
+     * Adds the applications selected in {@code lotteryRound} with an
+     * application_order in [firstOrder, lastOrder] to the selected stage of
+     * their cohorts, read from the rows just written in the same transaction.
+     *
+     * @return the number of cohort rows touched
+     */
+    int addSelected(Long eventId, int lotteryRound, int firstOrder, int lastOrder);
+
+    enum Stage {
+        APPLIED("applied"),
+        SELECTED("selected"),
+        PAID("paid"),
+        MINTED("minted"),
+        CHECKED_IN("checked_in"),
+        CERTIFIED("certified");
+
+        private final String column;
+
+        Stage(String column) {
+            this.column = column;
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+}
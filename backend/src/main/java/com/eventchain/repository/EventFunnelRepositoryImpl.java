@@ -0,0 +1,54 @@
+package com.eventchain.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class EventFunnelRepositoryImpl implements EventFunnelRepositoryCustom {
+    // Truncates created_at to its clock hour; both MySQL and H2 accept this form
+    private static final String COHORT_OF_CREATED_AT =
+            "TIMESTAMPADD(HOUR, HOUR(a.created_at), CAST(CAST(a.created_at AS DATE) AS DATETIME))";
+    private static final String ADD_SELECTED =
+            "INSERT INTO event_funnel (event_id, cohort_start, applied, selected, paid, minted, checked_in, certified) " +
+            "SELECT a.event_id, " + COHORT_OF_CREATED_AT + " AS cohort, 0, COUNT(*), 0, 0, 0, 0 FROM applications a " +
+            "WHERE a.event_id = ? AND a.status = 'SELECTED' AND a.lottery_round = ? " +
+            "AND a.application_order BETWEEN ? AND ? GROUP BY a.event_id, cohort " +
+            "ON DUPLICATE KEY UPDATE selected = selected + VALUES(selected)";
+    private static final Map<Stage, String> INCREMENT = new EnumMap<>(Stage.class);
+
+    static {
+        // Every stage column is written, as the columns Hibernate creates carry no defaults
+        for (Stage stage : Stage.values()) {
+            StringJoiner columns = new StringJoiner(", ");
+            StringJoiner values = new StringJoiner(", ");
+            for (Stage other : Stage.values()) {
+                columns.add(other.column());
+                values.add(other == stage ? "?" : "0");
+            }
+            String column = stage.column();
+            INCREMENT.put(stage, "INSERT INTO event_funnel (event_id, cohort_start, " + columns + ") " +
+                    "VALUES (?, ?, " + values + ") " +
+                    "ON DUPLICATE KEY UPDATE " + column + " = " + column + " + VALUES(" + column + ")");
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventFunnelRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void increment(Long eventId, LocalDateTime cohortStart, Stage stage, long count) {
+        jdbcTemplate.update(INCREMENT.get(stage), eventId, Timestamp.valueOf(cohortStart), count);
+    }
+
+    @Override
+    public int addSelected(Long eventId, int lotteryRound, int firstOrder, int lastOrder) {
+        return jdbcTemplate.update(ADD_SELECTED, eventId, lotteryRound, firstOrder, lastOrder);
+    }
+}
@@ -4,14 +4,32 @@ import com.eventchain.entity.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     Page<Event> findByStatus(String status, Pageable pageable);
     List<Event> findByStatusOrderByEventDateAsc(String status);
     List<Event> findByEventDateAfterAndStatus(LocalDateTime date, String status);
+
+    @Query("SELECT e.id FROM Event e WHERE e.status = :status AND e.lotteryDeadline <= :now " +
+            "ORDER BY e.lotteryDeadline ASC")
+    List<Long> findIdsByStatusAndLotteryDeadlinePassed(@Param("status") String status,
+                                                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id IN :ids AND e.status = 'OPEN'")
+    List<Long> findOpenIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
 }
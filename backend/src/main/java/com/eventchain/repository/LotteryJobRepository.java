@@ -0,0 +1,46 @@
+package com.eventchain.repository;
+
+import com.eventchain.entity.LotteryJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LotteryJobRepository extends JpaRepository<LotteryJob, Long> {
+    Optional<LotteryJob> findByEventId(Long eventId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM LotteryJob j WHERE j.id = :id")
+    Optional<LotteryJob> findByIdForUpdate(@Param("id") Long id);
+
+    /** Takes ownership of an active job nobody has touched since {@code staleBefore}. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE LotteryJob j SET j.ownerToken = :owner, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND j.status IN ('QUEUED', 'PREPARING', 'DRAWING') " +
+            "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    /** Refreshes the heartbeat of a job still owned by {@code owner}; 0 means ownership was lost. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE LotteryJob j SET j.heartbeatAt = :now WHERE j.id = :id AND j.ownerToken = :owner")
+    int heartbeat(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.id FROM LotteryJob j WHERE j.status IN ('QUEUED', 'PREPARING', 'DRAWING') " +
+            "AND COALESCE(j.heartbeatAt, j.createdAt) < :staleBefore")
+    List<Long> findStaleJobIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT j.id FROM LotteryJob j WHERE j.status = 'COMPLETED' AND j.event.eventDate > :now")
+    List<Long> findCompletedJobIdsForUpcomingEvents(@Param("now") LocalDateTime now);
+}
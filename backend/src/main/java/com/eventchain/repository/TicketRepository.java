@@ -1,11 +1,16 @@
 package com.eventchain.repository;
 
+import com.eventchain.dto.TicketDto;
 import com.eventchain.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,8 +19,35 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     List<Ticket> findByEventId(Long eventId);
     List<Ticket> findByUserId(Long userId);
     Optional<Ticket> findByEventIdAndTokenId(Long eventId, Long tokenId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.event.id = :eventId AND t.tokenId = :tokenId")
+    Optional<Ticket> findByEventIdAndTokenIdForUpdate(@Param("eventId") Long eventId, @Param("tokenId") Long tokenId);
     long countByEventId(Long eventId);
+    long countByUserIdAndCheckedInTrue(Long userId);
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.event.id = :eventId AND t.checkedIn = :checkedIn")
     long countByEventIdAndCheckedIn(@Param("eventId") Long eventId, @Param("checkedIn") Boolean checkedIn);
+
+    // Association ids resolve to the foreign key columns, so these read only the tickets table
+    String TICKET_DTO_SELECT = "SELECT new com.eventchain.dto.TicketDto(t.id, t.application.id, t.event.id, " +
+            "t.user.id, t.tokenId, t.transactionHash, t.checkedIn, t.checkedInAt, t.createdAt) FROM Ticket t ";
+
+    @Query(TICKET_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.id")
+    List<TicketDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(TICKET_DTO_SELECT + "WHERE t.event.id = :eventId ORDER BY t.id")
+    List<TicketDto> findDtosByEventId(@Param("eventId") Long eventId);
+
+    /** Ticket and check-in counts for each past event in a category, one row per event. */
+    @Query("SELECT COUNT(t) AS tickets, SUM(CASE WHEN t.checkedIn = true THEN 1 ELSE 0 END) AS checkedIn " +
+            "FROM Ticket t WHERE t.event.category = :category AND t.event.eventDate < :before " +
+            "GROUP BY t.event.id")
+    List<AttendanceHistory> findAttendanceByCategory(@Param("category") String category,
+                                                     @Param("before") LocalDateTime before);
+
+    interface AttendanceHistory {
+        long getTickets();
+        long getCheckedIn();
+    }
 }
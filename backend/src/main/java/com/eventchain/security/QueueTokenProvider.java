@@ -0,0 +1,68 @@
+package com.eventchain.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Signs waiting room positions. The key is derived from the JWT secret but
+ * differs from the access token key, so a queue token can never pass
+ * {@link JwtAuthenticationFilter} as a login.
+ */
+@Component
+public class QueueTokenProvider {
+    private final SecretKey key;
+    private final Duration ttl;
+
+    public QueueTokenProvider(@Value("${jwt.secret}") String secret,
+                              @Value("${app.waiting-room.token-ttl:PT2H}") Duration ttl) {
+        this.key = Keys.hmacShaKeyFor(derive(secret, "queue-token"));
+        this.ttl = ttl;
+    }
+
+    public String generate(Long userId, Long eventId, long position) {
+        return Jwts.builder()
+                .subject(userId.toString())
+                .claim("eventId", eventId)
+                .claim("position", position)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + ttl.toMillis()))
+                .signWith(key)
+                .compact();
+    }
+
+    /** @return the verified token, or null if it is malformed, forged or expired */
+    public QueueToken parse(String token) {
+        try {
+            Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+            return new QueueToken(Long.parseLong(claims.getSubject()),
+                    claims.get("eventId", Long.class),
+                    claims.get("position", Long.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] derive(String secret, String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    public record QueueToken(Long userId, Long eventId, long position) {}
+}
@@ -0,0 +1,144 @@
+package com.eventchain.security;
+
+import com.eventchain.config.RateLimitProperties;
+import com.eventchain.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Throttles the write endpoints listed under {@code app.rate-limit.routes},
+ * with one token bucket per user and one per event for each route. Runs right
+ * after {@link JwtAuthenticationFilter} so the user is known, and answers
+ * 429 with Retry-After before the request reaches the database. Buckets of
+ * idle keys are evicted, which keeps memory bounded however many users and
+ * events pass through.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String EVENT_ID = "eventId";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final List<CompiledRoute> routes;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(route, PathPatternParser.defaultInstance.parse(route.getPattern())))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTtl())
+                .build();
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledRoute compiled : routes) {
+            RateLimitProperties.Route route = compiled.route();
+            if (!route.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            PathPattern.PathMatchInfo match = compiled.pattern().matchAndExtract(path);
+            if (match == null) {
+                continue;
+            }
+
+            long waitNanos = 0;
+            String scope = null;
+            TokenBucket userBucket = null;
+            Long userId = currentUserId();
+            if (route.getPerUser() != null && userId != null) {
+                userBucket = bucket(new BucketKey(route.getName(), "user", userId), route.getPerUser());
+                waitNanos = userBucket.tryAcquire();
+                scope = "user";
+            }
+            String eventId = match.getUriVariables().get(EVENT_ID);
+            if (waitNanos == 0 && route.getPerEvent() != null && eventId != null) {
+                waitNanos = bucket(new BucketKey(route.getName(), "event", parseId(eventId)), route.getPerEvent())
+                        .tryAcquire();
+                scope = "event";
+                // A request the event limit refuses does not count against the caller's own allowance
+                if (waitNanos > 0 && userBucket != null) {
+                    userBucket.release();
+                }
+            }
+            if (waitNanos > 0) {
+                reject(response, route.getName(), scope, waitNanos);
+                return;
+            }
+            break;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private TokenBucket bucket(BucketKey key, RateLimitProperties.Limit limit) {
+        return buckets.get(key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond()));
+    }
+
+    private void reject(HttpServletResponse response, String route, String scope, long waitNanos) throws IOException {
+        Counter.builder("rate.limit.rejections")
+                .tag("route", route)
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse("Too many requests, try again later", HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserPrincipal principal ? principal.getId() : null;
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // Not a real event; the controller rejects it, and all such requests share one bucket
+            return -1;
+        }
+    }
+
+    private record CompiledRoute(RateLimitProperties.Route route, PathPattern pattern) {}
+
+    private record BucketKey(String route, String scope, long id) {}
+}
@@ -0,0 +1,59 @@
+package com.eventchain.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept in a single {@link AtomicLong} so concurrent requests
+ * never block each other. Rather than a token count it stores the time at
+ * which the bucket will be full again (the generic cell rate algorithm form
+ * of a token bucket): each request pushes that time forward by one refill
+ * interval and is refused if that would put it more than a full bucket
+ * ahead of now.
+ */
+final class TokenBucket {
+    private static final long ORIGIN = System.nanoTime();
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double refillPerSecond) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(now());
+    }
+
+    /** @return 0 if a token was taken, otherwise nanoseconds until one is available */
+    long tryAcquire() {
+        while (true) {
+            long now = now();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Gives back a token taken by {@link #tryAcquire} for a request that was then refused by another limit. */
+    void release() {
+        while (true) {
+            long now = now();
+            long current = fullAt.get();
+            if (current <= now) {
+                return;
+            }
+            if (fullAt.compareAndSet(current, Math.max(now, current - intervalNanos))) {
+                return;
+            }
+        }
+    }
+
+    private static long now() {
+        return System.nanoTime() - ORIGIN;
+    }
+}
@@ -0,0 +1,225 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.ActivityBucketDto;
+import com.eventchain.dto.ActivitySeriesDto;
+import com.eventchain.exception.BadRequestException;
+import com.eventchain.repository.EventActivityRepository;
+import com.eventchain.repository.EventActivityRepositoryCustom.Increment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-minute activity series for each event. Applications, payments and
+ * check-ins are counted into an in-memory ring of minute buckets with
+ * {@link LongAdder}s, so recording never takes a lock or touches the
+ * database. A flusher adds what each bucket gained since the last flush to
+ * the event_activity rollup table, and reads combine the rollup rows with
+ * whatever has not been flushed yet.
+ * <p>
+ * A bucket's slot is reused {@value #SLOTS} minutes later, so the flush
+ * interval has to stay well below that or the tail of a minute is lost.
+ */
+@Service
+public class ActivitySeriesService {
+    private static final Logger log = LoggerFactory.getLogger(ActivitySeriesService.class);
+    private static final int SLOTS = 8;
+    private static final int BUCKET_SECONDS = 60;
+    /** A ring with nothing recorded for this long is dropped; it is long past anyone still holding it. */
+    private static final long IDLE_MINUTES = 60;
+
+    private final EventActivityRepository eventActivityRepository;
+    private final EventSnapshotCache eventSnapshotCache;
+    private final int maxMinutes;
+    private final Duration retention;
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    public ActivitySeriesService(EventActivityRepository eventActivityRepository,
+                                 EventSnapshotCache eventSnapshotCache,
+                                 @Value("${app.activity.max-minutes:1440}") int maxMinutes,
+                                 @Value("${app.activity.retention:P30D}") Duration retention) {
+        this.eventActivityRepository = eventActivityRepository;
+        this.eventSnapshotCache = eventSnapshotCache;
+        this.maxMinutes = maxMinutes;
+        this.retention = retention;
+    }
+
+    public void record(Long eventId, long applications, long payments, long checkIns) {
+        Ring ring = rings.get(eventId);
+        if (ring == null) {
+            ring = rings.computeIfAbsent(eventId, id -> new Ring());
+        }
+        Bucket bucket = ring.bucket(currentMinute());
+        if (applications > 0) bucket.applications.add(applications);
+        if (payments > 0) bucket.payments.add(payments);
+        if (checkIns > 0) bucket.checkIns.add(checkIns);
+    }
+
+    /** The last {@code minutes} buckets, ending with the current minute. */
+    public ActivitySeriesDto getSeries(Long eventId, int minutes) {
+        if (minutes < 1 || minutes > maxMinutes) {
+            throw new BadRequestException("Minutes must be between 1 and " + maxMinutes);
+        }
+        eventSnapshotCache.get(eventId);
+        long last = currentMinute();
+        long first = last - minutes + 1;
+
+        long[][] counts = new long[minutes][3];
+        for (ActivityBucketDto row : eventActivityRepository.findBuckets(eventId, toDateTime(first))) {
+            int i = (int) (toMinute(row.getBucketStart()) - first);
+            if (i >= 0 && i < minutes) {
+                counts[i][0] += row.getApplications();
+                counts[i][1] += row.getPayments();
+                counts[i][2] += row.getCheckIns();
+            }
+        }
+        Ring ring = rings.get(eventId);
+        if (ring != null) {
+            for (int s = 0; s < SLOTS; s++) {
+                Bucket bucket = ring.buckets.get(s);
+                if (bucket != null && bucket.minute >= first && bucket.minute <= last) {
+                    long[] pending = bucket.pending();
+                    long[] target = counts[(int) (bucket.minute - first)];
+                    for (int k = 0; k < 3; k++) {
+                        target[k] += pending[k];
+                    }
+                }
+            }
+        }
+
+        List<ActivityBucketDto> buckets = new ArrayList<>(minutes);
+        for (int i = 0; i < minutes; i++) {
+            buckets.add(new ActivityBucketDto(toDateTime(first + i), counts[i][0], counts[i][1], counts[i][2]));
+        }
+        return ActivitySeriesDto.builder()
+                .eventId(eventId)
+                .bucketSeconds(BUCKET_SECONDS)
+                .buckets(buckets)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval-ms:10000}")
+    public void flush() {
+        long now = currentMinute();
+        List<Increment> increments = new ArrayList<>();
+        Map<Bucket, long[]> taken = new HashMap<>();
+        rings.forEach((eventId, ring) -> {
+            long newest = Long.MIN_VALUE;
+            for (int s = 0; s < SLOTS; s++) {
+                Bucket bucket = ring.buckets.get(s);
+                if (bucket == null) {
+                    continue;
+                }
+                newest = Math.max(newest, bucket.minute);
+                long[] pending = bucket.take();
+                if (pending[0] != 0 || pending[1] != 0 || pending[2] != 0) {
+                    taken.put(bucket, pending);
+                    increments.add(new Increment(eventId, toDateTime(bucket.minute),
+                            pending[0], pending[1], pending[2]));
+                }
+            }
+            if (newest < now - IDLE_MINUTES) {
+                rings.remove(eventId, ring);
+            }
+        });
+        try {
+            eventActivityRepository.addAll(increments);
+        } catch (Exception e) {
+            // Hand the counts back so the next flush retries them
+            taken.forEach(Bucket::restore);
+            log.warn("Flushing {} activity buckets failed", increments.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = eventActivityRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} activity buckets older than {}", deleted, retention);
+        }
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(minute * BUCKET_SECONDS), ZoneId.systemDefault());
+    }
+
+    private static long toMinute(LocalDateTime bucketStart) {
+        return bucketStart.atZone(ZoneId.systemDefault()).toEpochSecond() / BUCKET_SECONDS;
+    }
+
+    private static final class Ring {
+        private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(SLOTS);
+
+        Bucket bucket(long minute) {
+            int slot = (int) (minute % SLOTS);
+            Bucket current = buckets.get(slot);
+            while (current == null || current.minute < minute) {
+                Bucket fresh = new Bucket(minute);
+                if (buckets.compareAndSet(slot, current, fresh)) {
+                    return fresh;
+                }
+                current = buckets.get(slot);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Writers only add; the flusher remembers how much it has already handed
+     * to the database, so nothing recorded during a flush is lost.
+     */
+    private static final class Bucket {
+        private final long minute;
+        private final LongAdder applications = new LongAdder();
+        private final LongAdder payments = new LongAdder();
+        private final LongAdder checkIns = new LongAdder();
+        private volatile long flushedApplications;
+        private volatile long flushedPayments;
+        private volatile long flushedCheckIns;
+
+        Bucket(long minute) {
+            this.minute = minute;
+        }
+
+        long[] pending() {
+            return new long[]{applications.sum() - flushedApplications,
+                    payments.sum() - flushedPayments, checkIns.sum() - flushedCheckIns};
+        }
+
+        /**
+         * Marks the pending counts as flushed before they are written, so a
+         * concurrent read can briefly miss them but never counts them twice.
+         */
+        long[] take() {
+            long[] pending = pending();
+            flushedApplications += pending[0];
+            flushedPayments += pending[1];
+            flushedCheckIns += pending[2];
+            return pending;
+        }
+
+        void restore(long[] pending) {
+            flushedApplications -= pending[0];
+            flushedPayments -= pending[1];
+            flushedCheckIns -= pending[2];
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.EventAnalyticsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of each event's {@link EventAnalyticsDto}. Every write that
+ * changes an event's figures bumps the event's version once it has committed,
+ * and a cached result is served only while its version is still current. The
+ * version is read before computing, so a write that lands mid-computation
+ * leaves the result already out of date rather than cached as current.
+ * <p>
+ * Versions are local to the node; the TTL bounds how long another node's
+ * writes can go unseen.
+ */
+@Component
+public class AnalyticsCache {
+    /** Versions come from one sequence, so a version is never reused for the same event. */
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Cache<Long, Entry> entries;
+    private final Counter hits;
+    private final Counter staleMisses;
+    private final Counter coldMisses;
+    private final Timer hitAge;
+
+    public AnalyticsCache(MeterRegistry meterRegistry,
+                          @Value("${app.analytics-cache.max-size:10000}") long maxSize,
+                          @Value("${app.analytics-cache.ttl:PT30S}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.hits = Counter.builder("analytics.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.staleMisses = Counter.builder("analytics.cache.lookups").tag("result", "stale").register(meterRegistry);
+        this.coldMisses = Counter.builder("analytics.cache.lookups").tag("result", "miss").register(meterRegistry);
+        this.hitAge = Timer.builder("analytics.cache.hit.age")
+                .description("How long ago the analytics served from cache were computed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("analytics.cache.hit.ratio", this, AnalyticsCache::hitRatio).register(meterRegistry);
+        Gauge.builder("analytics.cache.size", entries, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    public EventAnalyticsDto get(Long eventId, Function<Long, EventAnalyticsDto> loader) {
+        long version = versions.getOrDefault(eventId, 0L);
+        Entry entry = entries.getIfPresent(eventId);
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            hitAge.record(System.nanoTime() - entry.computedAtNanos(), TimeUnit.NANOSECONDS);
+            return entry.analytics();
+        }
+        (entry == null ? coldMisses : staleMisses).increment();
+        EventAnalyticsDto analytics = loader.apply(eventId);
+        entries.asMap().merge(eventId, new Entry(version, System.nanoTime(), analytics),
+                (current, fresh) -> current.version() > fresh.version() ? current : fresh);
+        return analytics;
+    }
+
+    /** Marks the event's cached analytics out of date; call once the change is committed. */
+    public void bump(Long eventId) {
+        versions.merge(eventId, sequence.incrementAndGet(), Math::max);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        bump(change.eventId());
+    }
+
+    private double hitRatio() {
+        double lookups = hits.count() + staleMisses.count() + coldMisses.count();
+        return lookups > 0 ? hits.count() / lookups : 0;
+    }
+
+    private record Entry(long version, long computedAtNanos, EventAnalyticsDto analytics) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.AnalyticsOverviewDto;
+import com.eventchain.exception.BadRequestException;
+import com.eventchain.exception.ServiceUnavailableException;
+import com.eventchain.repository.EventCounterRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventCounterRepositoryCustom.StatusTotals;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Organisation-wide totals over a range of event dates. The events are split
+ * into id ranges that are summed from event_counters in parallel on the
+ * analytics pool and then merged, and the result is cached per range for a
+ * short TTL so dashboards polling the same range share one computation.
+ */
+@Service
+public class AnalyticsOverviewService {
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final EventCounterRepository eventCounterRepository;
+    private final TaskExecutor analyticsExecutor;
+    private final int partitions;
+    private final Cache<Range, AnalyticsOverviewDto> overviews;
+
+    public AnalyticsOverviewService(EventCounterRepository eventCounterRepository,
+                                    @Qualifier("analyticsExecutor") TaskExecutor analyticsExecutor,
+                                    @Value("${app.analytics-overview.workers:4}") int partitions,
+                                    @Value("${app.analytics-overview.ttl:PT15S}") Duration ttl) {
+        this.eventCounterRepository = eventCounterRepository;
+        this.analyticsExecutor = analyticsExecutor;
+        this.partitions = partitions;
+        this.overviews = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** @param from first event date included, or null for no lower bound
+     *  @param to last event date included, or null for no upper bound */
+    public AnalyticsOverviewDto getOverview(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        return overviews.get(new Range(from, to), this::compute);
+    }
+
+    private AnalyticsOverviewDto compute(Range range) {
+        LocalDateTime start = range.from() != null ? range.from().atStartOfDay() : EARLIEST;
+        LocalDateTime end = range.to() != null ? range.to().plusDays(1).atStartOfDay() : LATEST;
+
+        List<StatusTotals> rows = new ArrayList<>();
+        long[] ids = eventCounterRepository.findEventIdRange(start, end);
+        if (ids != null) {
+            long span = ids[1] - ids[0] + 1;
+            long step = (span + partitions - 1) / partitions;
+            List<CompletableFuture<List<StatusTotals>>> parts = new ArrayList<>();
+            try {
+                for (long first = ids[0]; first <= ids[1]; first += step) {
+                    long last = Math.min(first + step - 1, ids[1]);
+                    long partFirst = first;
+                    parts.add(CompletableFuture.supplyAsync(
+                            () -> eventCounterRepository.sumByStatus(start, end, partFirst, last), analyticsExecutor));
+                }
+                parts.forEach(part -> rows.addAll(part.join()));
+            } catch (TaskRejectedException e) {
+                throw new ServiceUnavailableException("Analytics are busy, please retry shortly", 1);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        Map<String, Long> eventsByStatus = new TreeMap<>();
+        long events = 0;
+        Delta totals = Delta.NONE;
+        for (StatusTotals row : rows) {
+            eventsByStatus.merge(row.status(), row.events(), Long::sum);
+            events += row.events();
+            totals = totals.plus(row.totals());
+        }
+
+        long won = totals.selected() + totals.paid();
+        return AnalyticsOverviewDto.builder()
+                .from(range.from())
+                .to(range.to())
+                .totalEvents(events)
+                .eventsByStatus(eventsByStatus)
+                .totalApplicants(totals.applications())
+                .selectedCount(totals.selected())
+                .waitlistedCount(totals.waitlisted())
+                .paidCount(totals.paid())
+                .nftsMinted(totals.minted())
+                .checkedInCount(totals.checkedIn())
+                .certificatesIssued(totals.certificates())
+                .revenue(totals.revenue().setScale(2, RoundingMode.HALF_UP))
+                .selectionPercentage(percentage(won, totals.applications()))
+                .paymentPercentage(percentage(totals.paid(), won))
+                .checkInPercentage(percentage(totals.checkedIn(), totals.minted()))
+                .certificatePercentage(percentage(totals.certificates(), totals.checkedIn()))
+                .computedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static double percentage(long part, long whole) {
+        return whole > 0 ? part * 100.0 / whole : 0;
+    }
+
+    private record Range(LocalDate from, LocalDate to) {
+    }
+}
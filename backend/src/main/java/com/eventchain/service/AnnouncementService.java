@@ -15,7 +15,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -44,16 +43,12 @@ public class AnnouncementService {
 
     @Transactional(readOnly = true)
     public List<AnnouncementDto> getByEvent(Long eventId, Authentication auth) {
-        return announcementRepository.findByEventIdOrderByCreatedAtDesc(eventId).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return announcementRepository.findDtosByEventId(eventId);
     }
 
     @Transactional(readOnly = true)
     public List<AnnouncementDto> getPublic() {
-        return announcementRepository.findByEventIdIsNullOrderByCreatedAtDesc().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return announcementRepository.findPublicDtos();
     }
 
     private AnnouncementDto toDto(Announcement a) {
@@ -0,0 +1,148 @@
+package com.eventchain.service;
+
+import com.eventchain.repository.ApplicationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-event set of user ids that have applied, kept as a compressed Roaring
+ * bitmap so an event with a million applicants costs a few megabytes at most.
+ * A miss means the user has definitely not applied and the duplicate check
+ * can skip the database; a hit may be stale (a rolled back apply) and is
+ * confirmed against the applications table. The unique key stays the final
+ * guard.
+ */
+@Component
+public class ApplicantMembershipIndex {
+    private final ApplicationRepository applicationRepository;
+    private final TransactionTemplate freshRead;
+    private final Cache<Long, Membership> memberships;
+    private final Counter definiteMisses;
+    private final Counter possibleHits;
+
+    public ApplicantMembershipIndex(ApplicationRepository applicationRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.applicant-index.max-events:1000}") long maxEvents,
+                                    @Value("${app.applicant-index.idle-ttl:PT1H}") Duration idleTtl) {
+        this.applicationRepository = applicationRepository;
+        this.freshRead = new TransactionTemplate(transactionManager);
+        this.freshRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.freshRead.setReadOnly(true);
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(maxEvents)
+                .expireAfterAccess(idleTtl)
+                .build();
+        this.definiteMisses = Counter.builder("applicant.index.lookups").tag("result", "miss")
+                .register(meterRegistry);
+        this.possibleHits = Counter.builder("applicant.index.lookups").tag("result", "hit")
+                .register(meterRegistry);
+        Gauge.builder("applicant.index.events", memberships, Cache::estimatedSize)
+                .register(meterRegistry);
+        Gauge.builder("applicant.index.bytes", this, ApplicantMembershipIndex::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /** False only when the user has certainly not applied to the event. */
+    public boolean mightHaveApplied(Long eventId, Long userId) {
+        boolean hit = membership(eventId).contains(userId);
+        (hit ? possibleHits : definiteMisses).increment();
+        return hit;
+    }
+
+    /** Records an application; call as soon as the row is inserted, even before commit. */
+    public void add(Long eventId, Long userId) {
+        membership(eventId).add(userId);
+    }
+
+    public void addAll(long[] eventIds, long[] userIds) {
+        for (int i = 0; i < eventIds.length; i++) {
+            add(eventIds[i], userIds[i]);
+        }
+    }
+
+    /** Status changes (publish, lottery) end the apply window, so the bitmap is rebuilt on next use if needed. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        memberships.invalidate(change.eventId());
+    }
+
+    private Membership membership(Long eventId) {
+        Membership membership = memberships.get(eventId, id -> new Membership());
+        membership.loadOnce(eventId);
+        return membership;
+    }
+
+    private double sizeInBytes() {
+        return memberships.asMap().values().stream().mapToLong(Membership::sizeInBytes).sum();
+    }
+
+    /**
+     * The entry is published before its rows are read, so an apply that
+     * inserts while the load is running still lands in the bitmap; the load
+     * itself runs in a new transaction to see everything committed by then.
+     */
+    private class Membership {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Roaring64Bitmap userIds = new Roaring64Bitmap();
+        private volatile boolean loaded;
+
+        void loadOnce(Long eventId) {
+            if (loaded) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    long[] existing = freshRead.execute(tx -> applicationRepository.findApplicantUserIds(eventId));
+                    userIds.add(existing);
+                    userIds.runOptimize();
+                    loaded = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean contains(long userId) {
+            lock.readLock().lock();
+            try {
+                return userIds.contains(userId);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(long userId) {
+            lock.writeLock().lock();
+            try {
+                userIds.addLong(userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long sizeInBytes() {
+            lock.readLock().lock();
+            try {
+                return userIds.getLongSizeInBytes();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
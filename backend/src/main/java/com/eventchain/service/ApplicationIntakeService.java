@@ -0,0 +1,318 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.ApplicationIntakeDto;
+import com.eventchain.entity.ApplicationIntake;
+import com.eventchain.exception.BadRequestException;
+import com.eventchain.exception.NotFoundException;
+import com.eventchain.exception.ServiceUnavailableException;
+import com.eventchain.repository.ApplicationIntakeRepository;
+import com.eventchain.repository.ApplicationIntakeRepositoryCustom.Outcome;
+import com.eventchain.repository.ApplicationRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventRepository;
+import com.eventchain.security.UserPrincipal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind path for application bursts. A request is checked against the
+ * cached {@link EventSnapshot}, queued in memory and acknowledged
+ * straight away; a single writer thread drains the queue into multi-row JDBC
+ * batches. Duplicates and late arrivals for a closed event are skipped by the
+ * insert itself, so the request thread never touches the applications table.
+ * A skipped row is only reported as a duplicate when the application exists and
+ * as closed when the event is no longer OPEN; any other skip is FAILED.
+ * <p>
+ * Every request's outcome is written to application_intakes in the same
+ * transaction as its batch, and {@link #getIntake} reports it by intake id. A
+ * batch that fails is retried one request at a time, so one bad row cannot
+ * take the rest of the batch with it, and a request that still fails is
+ * recorded as FAILED rather than dropped. Nothing a batch throws ends the
+ * writer thread, and intake stops accepting requests if the thread is gone.
+ */
+@Service
+public class ApplicationIntakeService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ApplicationIntakeService.class);
+
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationIntakeRepository applicationIntakeRepository;
+    private final EventRepository eventRepository;
+    private final EventSnapshotCache eventSnapshotCache;
+    private final ApplicantMembershipIndex applicantMembershipIndex;
+    private final WaitingRoomService waitingRoomService;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<IntakeRequest> queue;
+    /** Requests accepted on this node and not yet written, so their status can be reported as QUEUED. */
+    private final Map<String, IntakeRequest> pending = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final int maxBonusEntries;
+    private final Duration outcomeRetention;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ApplicationIntakeService(ApplicationRepository applicationRepository,
+                                    ApplicationIntakeRepository applicationIntakeRepository,
+                                    EventRepository eventRepository,
+                                    EventSnapshotCache eventSnapshotCache,
+                                    ApplicantMembershipIndex applicantMembershipIndex,
+                                    WaitingRoomService waitingRoomService,
+                                    EventCounterService eventCounterService,
+                                    FunnelService funnelService,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${lottery.intake.queue-capacity:50000}") int queueCapacity,
+                                    @Value("${lottery.intake.batch-size:2000}") int batchSize,
+                                    @Value("${lottery.weighted.max-bonus-entries:4}") int maxBonusEntries,
+                                    @Value("${lottery.intake.outcome-retention:P7D}") Duration outcomeRetention) {
+        this.applicationRepository = applicationRepository;
+        this.applicationIntakeRepository = applicationIntakeRepository;
+        this.eventRepository = eventRepository;
+        this.eventSnapshotCache = eventSnapshotCache;
+        this.applicantMembershipIndex = applicantMembershipIndex;
+        this.waitingRoomService = waitingRoomService;
+        this.eventCounterService = eventCounterService;
+        this.funnelService = funnelService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxBonusEntries = maxBonusEntries;
+        this.outcomeRetention = outcomeRetention;
+        Gauge.builder("application.intake.writer.alive", this, service -> service.isRunning() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("application.intake.queue.size", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    public ApplicationIntakeDto submit(Long eventId, String queueToken, Authentication auth) {
+        if (auth == null || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new BadRequestException("User not authenticated");
+        }
+        EventSnapshot event = eventSnapshotCache.get(eventId);
+        if (!event.isOpen()) {
+            throw new BadRequestException("Applications are closed for this event");
+        }
+        waitingRoomService.requireAdmitted(event, principal.getId(), queueToken);
+        IntakeRequest request = new IntakeRequest(UUID.randomUUID().toString(), principal.getId(), eventId,
+                LotteryDraw.priorityKey());
+        // Registered before the offer, so the writer can never finish a request that is not yet pending
+        pending.put(request.intakeId(), request);
+        if (!isRunning() || !queue.offer(request)) {
+            pending.remove(request.intakeId());
+            throw new ServiceUnavailableException("Application intake is at capacity, please retry", 1);
+        }
+        return ApplicationIntakeDto.builder()
+                .intakeId(request.intakeId())
+                .eventId(eventId)
+                .status("QUEUED")
+                .build();
+    }
+
+    /**
+     * The outcome of one of the caller's intake requests. QUEUED is only known
+     * to the node that accepted the request; elsewhere an unwritten request is
+     * reported as not found until its batch commits.
+     */
+    public ApplicationIntakeDto getIntake(String intakeId, Authentication auth) {
+        if (auth == null || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new BadRequestException("User not authenticated");
+        }
+        IntakeRequest queued = pending.get(intakeId);
+        if (queued != null && queued.userId() == principal.getId()) {
+            return ApplicationIntakeDto.builder()
+                    .intakeId(intakeId)
+                    .eventId(queued.eventId())
+                    .status("QUEUED")
+                    .build();
+        }
+        ApplicationIntake intake = applicationIntakeRepository.findById(intakeId)
+                .filter(i -> i.getUserId().equals(principal.getId()))
+                .orElseThrow(() -> new NotFoundException("Intake not found"));
+        return ApplicationIntakeDto.builder()
+                .intakeId(intakeId)
+                .eventId(intake.getEventId())
+                .status(intake.getStatus())
+                .applicationId(intake.getApplicationId())
+                .error(intake.getError())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${lottery.intake.purge-interval-ms:3600000}")
+    public void purgeOutcomes() {
+        int deleted = applicationIntakeRepository.deleteOlderThan(LocalDateTime.now().minus(outcomeRetention));
+        if (deleted > 0) {
+            log.info("Purged {} intake outcomes older than {}", deleted, outcomeRetention);
+        }
+    }
+
+    private void drain() {
+        List<IntakeRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                IntakeRequest first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeOrRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                // Whatever escaped the retry must not end this thread, or later requests would never be written
+                log.error("Intake batch of {} failed outside the retry", batch.size(), t);
+                for (IntakeRequest request : batch) {
+                    if (pending.containsKey(request.intakeId())) {
+                        fail(request, t);
+                    }
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeOrRetry(List<IntakeRequest> batch) {
+        try {
+            write(batch);
+            return;
+        } catch (Exception e) {
+            log.warn("Intake batch of {} failed, retrying one request at a time", batch.size(), e);
+        }
+        for (IntakeRequest request : batch) {
+            try {
+                write(List.of(request));
+            } catch (Exception e) {
+                fail(request, e);
+            }
+        }
+    }
+
+    private void fail(IntakeRequest request, Throwable cause) {
+        String error = String.valueOf(cause.getMessage());
+        try {
+            applicationIntakeRepository.insertOutcomes(List.of(new Outcome(request.intakeId(), request.userId(),
+                    request.eventId(), "FAILED", null, error.substring(0, Math.min(error.length(), 255)),
+                    LocalDateTime.now())));
+        } catch (Exception e) {
+            log.error("Could not record failed intake {}", request.intakeId(), e);
+        } finally {
+            pending.remove(request.intakeId());
+        }
+        log.error("Intake {} for event {} failed", request.intakeId(), request.eventId(), cause);
+    }
+
+    private void write(List<IntakeRequest> batch) {
+        int size = batch.size();
+        long[] userIds = new long[size];
+        long[] eventIds = new long[size];
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            IntakeRequest request = batch.get(i);
+            userIds[i] = request.userId();
+            eventIds[i] = request.eventId();
+            keys[i] = request.lotteryKey();
+        }
+        // The batch, its outcomes and its counter increments commit together
+        int inserted = transactionTemplate.execute(tx -> {
+            int[] rows = applicationRepository.insertApplications(userIds, eventIds, keys, maxBonusEntries);
+            long[] applicationIds = applicationRepository.findApplicationIds(userIds, eventIds);
+            Set<Long> openEvents = openEventsOfUnexplainedSkips(rows, applicationIds, eventIds);
+            LocalDateTime appliedAt = LocalDateTime.now();
+            List<Outcome> outcomes = new ArrayList<>(size);
+            Map<Long, Long> perEvent = new HashMap<>();
+            int total = 0;
+            for (int i = 0; i < size; i++) {
+                // INSERT IGNORE also skips rows it could not write, e.g. for a user that no longer exists
+                String status = rows[i] > 0 ? "APPLIED"
+                        : applicationIds[i] > 0 ? "DUPLICATE"
+                        : openEvents.contains(eventIds[i]) ? "FAILED" : "CLOSED";
+                outcomes.add(new Outcome(batch.get(i).intakeId(), userIds[i], eventIds[i], status,
+                        applicationIds[i] > 0 ? applicationIds[i] : null,
+                        "FAILED".equals(status) ? "Application could not be written" : null, appliedAt));
+                if (rows[i] > 0) {
+                    perEvent.merge(eventIds[i], 1L, Long::sum);
+                    total++;
+                }
+            }
+            applicationIntakeRepository.insertOutcomes(outcomes);
+            perEvent.forEach((eventId, count) -> {
+                eventCounterService.record(eventId, Delta.applied(count));
+                funnelService.applied(eventId, appliedAt, count);
+            });
+            return total;
+        });
+        // Over-recording skipped duplicates only costs a database check later, under-recording would hide real ones
+        applicantMembershipIndex.addAll(eventIds, userIds);
+        batch.forEach(request -> pending.remove(request.intakeId()));
+        if (inserted < size) {
+            log.debug("Intake batch of {} inserted {}; the rest were duplicates or for closed events", size, inserted);
+        }
+    }
+
+    /** Events still OPEN among rows skipped without an existing application; empty in the usual case. */
+    private Set<Long> openEventsOfUnexplainedSkips(int[] rows, long[] applicationIds, long[] eventIds) {
+        Set<Long> events = new HashSet<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] == 0 && applicationIds[i] == 0) {
+                events.add(eventIds[i]);
+            }
+        }
+        return events.isEmpty() ? events : new HashSet<>(eventRepository.findOpenIds(events));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "application-intake");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        // The writer keeps draining until the queue is empty, so acknowledged requests are not lost on shutdown
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Shut down with {} queued applications unwritten", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running && writer != null && writer.isAlive();
+    }
+
+    private record IntakeRequest(String intakeId, long userId, long eventId, long lotteryKey) {}
+}
@@ -1,61 +1,154 @@
 package com.eventchain.service;
 
 import com.eventchain.dto.ApplicationDto;
+import com.eventchain.dto.ApplicationPageDto;
 import com.eventchain.entity.Application;
-import com.eventchain.entity.Event;
 import com.eventchain.entity.User;
 import com.eventchain.exception.BadRequestException;
-import com.eventchain.exception.NotFoundException;
 import com.eventchain.repository.ApplicationRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
 import com.eventchain.repository.EventRepository;
+import com.eventchain.repository.TicketRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ApplicationService {
     private final ApplicationRepository applicationRepository;
     private final EventRepository eventRepository;
+    private final EventSnapshotCache eventSnapshotCache;
+    private final ApplicantMembershipIndex applicantMembershipIndex;
+    private final WaitingRoomService waitingRoomService;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
+    private final TicketRepository ticketRepository;
     private final UserService userService;
 
+    @Value("${lottery.weighted.max-bonus-entries:4}")
+    private int maxBonusEntries;
+
+    @Value("${app.applicant-page.max-size:500}")
+    private int maxPageSize;
+
     @Transactional
-    public ApplicationDto apply(Long eventId, org.springframework.security.core.Authentication auth) {
+    public ApplicationDto apply(Long eventId, String queueToken, org.springframework.security.core.Authentication auth) {
         User user = userService.getCurrentUser(auth);
         if (user == null) throw new BadRequestException("User not authenticated");
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException("Event not found"));
-        if (!"OPEN".equals(event.getStatus())) {
+        // The snapshot only turns away the obvious cases; the insert below has the final say on OPEN
+        EventSnapshot event = eventSnapshotCache.get(eventId);
+        if (!event.isOpen()) {
             throw new BadRequestException("Applications are closed for this event");
         }
-        if (applicationRepository.existsByUserIdAndEventId(user.getId(), eventId)) {
+        waitingRoomService.requireAdmitted(event, user.getId(), queueToken);
+        // Almost every caller is a first-time applicant, which the in-memory index can confirm on its own
+        if (applicantMembershipIndex.mightHaveApplied(eventId, user.getId())
+                && applicationRepository.existsByUserIdAndEventId(user.getId(), eventId)) {
             throw new BadRequestException("Already applied");
         }
 
         Application app = new Application();
         app.setUser(user);
-        app.setEvent(event);
+        app.setEvent(eventRepository.getReferenceById(eventId));
         app.setStatus("APPLIED");
-        app = applicationRepository.save(app);
+        app.setLotteryKey(LotteryDraw.priorityKey());
+        app.setLotteryWeight(lotteryWeight(event, user));
+        app.setCreatedAt(LocalDateTime.now());
+        app.setUpdatedAt(app.getCreatedAt());
+        long id;
+        try {
+            id = applicationRepository.insertApplicationIfOpen(user.getId(), eventId, app.getLotteryKey(),
+                    app.getLotteryWeight(), app.getCreatedAt());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent apply for the same user won the race to uk_application_user_event
+            throw new BadRequestException("Already applied");
+        }
+        if (id == 0) {
+            eventSnapshotCache.invalidate(eventId);
+            throw new BadRequestException("Applications are closed for this event");
+        }
+        app.setId(id);
+        eventCounterService.record(eventId, Delta.applied(1));
+        funnelService.applied(eventId, app.getCreatedAt(), 1);
+        applicantMembershipIndex.add(eventId, user.getId());
         return toDto(app);
     }
 
     @Transactional(readOnly = true)
     public List<ApplicationDto> getApplicationsByEvent(Long eventId) {
-        return applicationRepository.findByEventIdOrderByCreatedAtAsc(eventId).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return applicationRepository.findApplicantDtosByEventId(eventId);
+    }
+
+    /**
+     * One page of an event's applicants in {@code (createdAt, id)} order, read
+     * through a projection that joins the user columns in the same query.
+     */
+    @Transactional(readOnly = true)
+    public ApplicationPageDto getApplicantPage(Long eventId, String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        // One extra row tells us whether another page follows without a count query
+        Limit limit = Limit.of(size + 1);
+        List<ApplicationDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = applicationRepository.findApplicantPage(eventId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = applicationRepository.findApplicantPageAfter(eventId, after.createdAt(), after.id(), limit);
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ApplicationDto last = rows.get(size - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ApplicationPageDto.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public List<ApplicationDto> getMyApplications(Long userId) {
-        return applicationRepository.findByUserId(userId).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return applicationRepository.findApplicantDtosByUserId(userId);
+    }
+
+    /** In WEIGHTED events every attended past event earns one extra entry, up to the configured cap. */
+    private int lotteryWeight(EventSnapshot event, User user) {
+        if (!"WEIGHTED".equals(event.lotteryMode())) {
+            return 1;
+        }
+        long attended = ticketRepository.countByUserIdAndCheckedInTrue(user.getId());
+        return 1 + (int) Math.min(attended, maxBonusEntries);
+    }
+
+    private record PageCursor(LocalDateTime createdAt, Long id) {
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
     }
 
     private ApplicationDto toDto(Application a) {
@@ -4,6 +4,8 @@ import com.eventchain.entity.Certificate;
 import com.eventchain.entity.Ticket;
 import com.eventchain.exception.NotFoundException;
 import com.eventchain.repository.CertificateRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventFunnelRepositoryCustom.Stage;
 import com.eventchain.repository.TicketRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,8 @@ import com.lowagie.text.pdf.PdfWriter;
 public class CertificateService {
     private final CertificateRepository certificateRepository;
     private final TicketRepository ticketRepository;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
 
     @Autowired(required = false)
     private com.eventchain.blockchain.NftContractService nftContractService;
@@ -65,6 +69,9 @@ public class CertificateService {
         cert.setFileHash(bytesToHex(hash));
         cert.setTransactionHash(txHash);
         certificateRepository.save(cert);
+        // uk_certificate_ticket fails a concurrent duplicate, rolling this increment back with it
+        eventCounterService.record(ticket.getEvent().getId(), Delta.certificateIssued());
+        funnelService.reached(ticket.getApplication(), Stage.CERTIFIED);
 
         return pdfContent;
     }
@@ -4,6 +4,8 @@ import com.eventchain.dto.TicketDto;
 import com.eventchain.entity.Ticket;
 import com.eventchain.exception.BadRequestException;
 import com.eventchain.exception.NotFoundException;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventFunnelRepositoryCustom.Stage;
 import com.eventchain.repository.TicketRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,8 @@ import java.time.LocalDateTime;
 public class CheckInService {
     private final TicketRepository ticketRepository;
     private final UserService userService;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
 
     @Autowired(required = false)
     private com.eventchain.blockchain.NftContractService nftContractService;
@@ -27,7 +31,8 @@ public class CheckInService {
 
     @Transactional
     public TicketDto checkIn(Long eventId, Long tokenId, org.springframework.security.core.Authentication auth) {
-        Ticket ticket = ticketRepository.findByEventIdAndTokenId(eventId, tokenId)
+        // Two scanners on the same ticket queue on the row lock, so only one of them checks it in
+        Ticket ticket = ticketRepository.findByEventIdAndTokenIdForUpdate(eventId, tokenId)
                 .orElseThrow(() -> new NotFoundException("Ticket not found"));
         if (ticket.getCheckedIn()) {
             throw new BadRequestException("Already checked in");
@@ -47,6 +52,8 @@ public class CheckInService {
         ticket.setCheckedIn(true);
         ticket.setCheckedInAt(LocalDateTime.now());
         ticketRepository.save(ticket);
+        eventCounterService.record(eventId, Delta.ticketCheckedIn());
+        funnelService.reached(ticket.getApplication(), Stage.CHECKED_IN);
 
         if (messagingTemplate != null) {
             messagingTemplate.convertAndSend("/topic/event/" + eventId + "/checkin",
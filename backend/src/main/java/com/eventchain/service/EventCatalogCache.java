@@ -0,0 +1,122 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.EventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the public event catalog as serialized JSON, each body with
+ * a strong ETag, so browsing and revalidation are answered without touching
+ * Hibernate or Jackson.
+ * <p>
+ * A single event is evicted once a change to it commits; Caffeine loads a key
+ * atomically, so a load that read the old row is removed as well. Any change
+ * can move events between pages, so pages are keyed by a generation that every
+ * change advances instead, and a page loaded before the change lands under a
+ * generation no longer asked for. The TTL bounds how long another node's
+ * change can go unseen.
+ */
+@Component
+public class EventCatalogCache {
+    private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Long, Json> events;
+    private final Cache<PageKey, Json> pages;
+
+    public EventCatalogCache(EventService eventService, ObjectMapper objectMapper,
+                             @Value("${app.catalog-cache.max-size:10000}") long maxSize,
+                             @Value("${app.catalog-cache.ttl:PT30S}") Duration ttl) {
+        this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.events = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Json getEvent(Long id) {
+        return events.get(id, key -> {
+            EventDto event = eventService.getEventById(key);
+            return new Json(serialize(event), "\"" + key + "-" + micros(event.getUpdatedAt()) + "\"",
+                    lastModified(event.getUpdatedAt()));
+        });
+    }
+
+    public Json getEvents(String status, Pageable pageable) {
+        return pages.get(new PageKey(generation.get(), status, pageable), this::loadPage);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        events.invalidate(change.eventId());
+        generation.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    private Json loadPage(PageKey key) {
+        Page<EventDto> page = eventService.getEvents(key.status(), key.pageable());
+        // The body is determined by the request, the total and each member's id and updatedAt
+        StringBuilder validator = new StringBuilder()
+                .append(key.status()).append('|').append(key.pageable()).append('|').append(page.getTotalElements());
+        for (EventDto event : page.getContent()) {
+            validator.append('|').append(event.getId()).append('-').append(micros(event.getUpdatedAt()));
+        }
+        // No Last-Modified: an event leaving the page changes the body without advancing any updatedAt
+        return new Json(serialize(page), "\"" + sha256(validator.toString()) + "\"", -1);
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event catalog", e);
+        }
+    }
+
+    private static long micros(LocalDateTime updatedAt) {
+        return updatedAt != null ? ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), updatedAt) : 0;
+    }
+
+    /** updatedAt is written with LocalDateTime.now(), so it is in the server's zone. */
+    private static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** A serialized response body with its validators; {@code lastModified} is -1 when unknown. */
+    public record Json(byte[] body, String etag, long lastModified) {
+    }
+
+    private record PageKey(long generation, String status, Pageable pageable) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventchain.service;
+
+/**
+ * Published whenever an event row changes. Listeners that cache event state
+ * drop their copy once the publishing transaction has committed.
+ */
+public record EventChangedEvent(Long eventId) {}
@@ -0,0 +1,164 @@
+package com.eventchain.service;
+
+import com.eventchain.repository.EventCounterRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventCounterRepositoryCustom.Rebuilt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Maintains the event_counters row behind each event's analytics. Callers
+ * record a {@link Delta} in the same transaction as the change it describes,
+ * so the counters commit or roll back with it. A nightly job recounts every
+ * event from the source tables and logs any drift it corrects. Committed
+ * changes are passed on to {@link ActivitySeriesService} and bump the event's
+ * version in {@link AnalyticsCache}.
+ */
+@Service
+public class EventCounterService {
+    private static final Logger log = LoggerFactory.getLogger(EventCounterService.class);
+
+    private final EventCounterRepository eventCounterRepository;
+    private final ActivitySeriesService activitySeriesService;
+    private final AnalyticsCache analyticsCache;
+    private final TransactionTemplate ownTransaction;
+
+    public EventCounterService(EventCounterRepository eventCounterRepository,
+                               ActivitySeriesService activitySeriesService,
+                               AnalyticsCache analyticsCache,
+                               PlatformTransactionManager transactionManager) {
+        this.eventCounterRepository = eventCounterRepository;
+        this.activitySeriesService = activitySeriesService;
+        this.analyticsCache = analyticsCache;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Gives a new event its zeroed counters row; call in the transaction that creates the event. */
+    public void create(Long eventId) {
+        eventCounterRepository.insertEmpty(eventId);
+    }
+
+    public void record(Long eventId, Delta delta) {
+        record(eventId, delta, 0);
+    }
+
+    /**
+     * A completed payment: its revenue and the SELECTED to PAID move. The
+     * payments series is fed from here rather than from the paid counter,
+     * which follows the application status and not the payment itself.
+     */
+    public void paymentCompleted(Long eventId, BigDecimal amount) {
+        record(eventId, Delta.revenue(amount).plus(Delta.statusChanged("SELECTED", "PAID", 1)), 1);
+    }
+
+    private void record(Long eventId, Delta delta, long payments) {
+        if (Delta.NONE.equals(delta) && payments == 0) {
+            return;
+        }
+        afterCommit(eventId, delta, payments);
+        if (eventCounterRepository.increment(eventId, delta) > 0) {
+            return;
+        }
+        // Only events that predate the counters table get here before startup has seeded them.
+        // Counting from source now could wait on this transaction's own locks, so the row
+        // starts from this change and is recounted once it commits.
+        eventCounterRepository.insertEmpty(eventId);
+        eventCounterRepository.increment(eventId, delta);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild(eventId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Once the change has committed, feeds the per-minute series and marks the
+     * cached analytics stale, so rolled-back work is neither charted nor served.
+     */
+    private void afterCommit(Long eventId, Delta delta, long payments) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(eventId, delta, payments);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(eventId, delta, payments);
+            }
+        });
+    }
+
+    private void committed(Long eventId, Delta delta, long payments) {
+        if (delta.applications() > 0 || payments > 0 || delta.checkedIn() > 0) {
+            activitySeriesService.record(eventId, delta.applications(), payments, delta.checkedIn());
+        }
+        analyticsCache.bump(eventId);
+    }
+
+    /** The event's current counters, created from the source tables if it has none yet. */
+    public Delta current(Long eventId) {
+        return eventCounterRepository.findById(eventId)
+                .map(c -> new Delta(c.getApplications(), c.getSelected(), c.getWaitlisted(), c.getPaid(),
+                        c.getMinted(), c.getCheckedIn(), c.getCertificates(), c.getRevenue()))
+                .orElseGet(() -> seed(eventId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedMissing() {
+        var eventIds = eventCounterRepository.findEventIdsWithoutCounters();
+        for (Long eventId : eventIds) {
+            seed(eventId);
+        }
+        if (!eventIds.isEmpty()) {
+            log.info("Created counters for {} events from their source tables", eventIds.size());
+        }
+    }
+
+    @Scheduled(cron = "${app.event-counters.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        int drifted = 0;
+        for (Long eventId : eventCounterRepository.findAllEventIds()) {
+            try {
+                if (rebuild(eventId)) {
+                    drifted++;
+                }
+            } catch (Exception e) {
+                log.error("Rebuilding counters for event {} failed", eventId, e);
+            }
+        }
+        log.info("Rebuilt event counters; {} events had drifted", drifted);
+    }
+
+    /** @return true if the stored counters differed from the source tables */
+    public boolean rebuild(Long eventId) {
+        Rebuilt rebuilt = ownTransaction.execute(tx -> eventCounterRepository.rebuild(eventId));
+        if (rebuilt != null && rebuilt.drifted()) {
+            log.warn("Counters for event {} had drifted: {} -> {}", eventId, rebuilt.before(), rebuilt.after());
+            analyticsCache.bump(eventId);
+            return true;
+        }
+        return false;
+    }
+
+    private Delta seed(Long eventId) {
+        return ownTransaction.execute(tx -> {
+            eventCounterRepository.insertEmpty(eventId);
+            return eventCounterRepository.rebuild(eventId).after();
+        });
+    }
+}
@@ -7,7 +7,9 @@ import com.eventchain.exception.BadRequestException;
 import com.eventchain.exception.ForbiddenException;
 import com.eventchain.exception.NotFoundException;
 import com.eventchain.repository.*;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -21,11 +23,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EventService {
     private final EventRepository eventRepository;
-    private final ApplicationRepository applicationRepository;
-    private final TicketRepository ticketRepository;
-    private final CertificateRepository certificateRepository;
-    private final PaymentRepository paymentRepository;
+    private final EventSnapshotCache eventSnapshotCache;
+    private final EventCounterService eventCounterService;
+    private final AnalyticsCache analyticsCache;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<EventDto> getEvents(String status, Pageable pageable) {
@@ -52,9 +54,14 @@ public class EventService {
         event.setPrice(request.getPrice());
         event.setMaxSeats(request.getMaxSeats());
         event.setLotteryDeadline(request.getLotteryDeadline());
+        event.setLotteryMode(request.getLotteryMode() != null ? request.getLotteryMode() : "UNIFORM");
+        event.setOverbookingTarget(request.getOverbookingTarget());
+        event.setWaitingRoom(Boolean.TRUE.equals(request.getWaitingRoom()));
         event.setStatus("DRAFT");
         event.setCreatedBy(creator);
         event = eventRepository.save(event);
+        eventCounterService.create(event.getId());
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
         return toDto(event);
     }
 
@@ -73,7 +80,11 @@ public class EventService {
         event.setPrice(request.getPrice());
         event.setMaxSeats(request.getMaxSeats());
         event.setLotteryDeadline(request.getLotteryDeadline());
+        event.setLotteryMode(request.getLotteryMode() != null ? request.getLotteryMode() : "UNIFORM");
+        event.setOverbookingTarget(request.getOverbookingTarget());
+        event.setWaitingRoom(Boolean.TRUE.equals(request.getWaitingRoom()));
         event = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
         return toDto(event);
     }
 
@@ -86,41 +97,37 @@ public class EventService {
         }
         event.setStatus("OPEN");
         event = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
         return toDto(event);
     }
 
-    @Transactional(readOnly = true)
+    /** Served from {@link AnalyticsCache} until a write to the event moves its version. */
     public EventAnalyticsDto getAnalytics(Long eventId, Authentication auth) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException("Event not found"));
-        long totalApplicants = applicationRepository.findByEventIdOrderByCreatedAtAsc(eventId).size();
-        long selectedCount = applicationRepository.findByEventIdAndStatus(eventId, "SELECTED").size();
-        long waitlistedCount = applicationRepository.findByEventIdAndStatus(eventId, "WAITLISTED").size();
-        long paidCount = applicationRepository.findByEventIdAndStatus(eventId, "PAID").size();
-        long nftsMinted = ticketRepository.countByEventId(eventId);
-        long checkedInCount = ticketRepository.countByEventIdAndCheckedIn(eventId, true);
-        long certificatesIssued = certificateRepository.countByEventId(eventId);
+        return analyticsCache.get(eventId, this::computeAnalytics);
+    }
 
-        var payments = paymentRepository.findCompletedByEventId(eventId);
-        var revenue = payments.stream()
-                .map(p -> p.getAmount())
-                .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
+    /** Reads the event's counters row, so the cost does not grow with the number of applicants. */
+    private EventAnalyticsDto computeAnalytics(Long eventId) {
+        EventSnapshot event = eventSnapshotCache.get(eventId);
+        Delta counters = eventCounterService.current(eventId);
 
-        double paymentPct = selectedCount > 0 ? (paidCount * 100.0 / selectedCount) : 0;
-        double noShowRate = nftsMinted > 0 ? ((nftsMinted - checkedInCount) * 100.0 / nftsMinted) : 0;
+        long selectedCount = counters.selected();
+        long nftsMinted = counters.minted();
+        double paymentPct = selectedCount > 0 ? (counters.paid() * 100.0 / selectedCount) : 0;
+        double noShowRate = nftsMinted > 0 ? ((nftsMinted - counters.checkedIn()) * 100.0 / nftsMinted) : 0;
 
         return EventAnalyticsDto.builder()
                 .eventId(eventId)
-                .eventTitle(event.getTitle())
-                .status(event.getStatus())
-                .totalApplicants(totalApplicants)
+                .eventTitle(event.title())
+                .status(event.status())
+                .totalApplicants(counters.applications())
                 .selectedCount(selectedCount)
-                .waitlistedCount(waitlistedCount)
-                .paidCount(paidCount)
+                .waitlistedCount(counters.waitlisted())
+                .paidCount(counters.paid())
                 .nftsMinted(nftsMinted)
-                .checkedInCount(checkedInCount)
-                .certificatesIssued(certificatesIssued)
-                .revenue(revenue)
+                .checkedInCount(counters.checkedIn())
+                .certificatesIssued(counters.certificates())
+                .revenue(counters.revenue())
                 .paymentPercentage(paymentPct)
                 .noShowRate(noShowRate)
                 .build();
@@ -137,6 +144,9 @@ public class EventService {
                 .price(e.getPrice())
                 .maxSeats(e.getMaxSeats())
                 .lotteryDeadline(e.getLotteryDeadline())
+                .lotteryMode(e.getLotteryMode())
+                .overbookingTarget(e.getOverbookingTarget())
+                .waitingRoom(e.getWaitingRoom())
                 .status(e.getStatus())
                 .createdBy(e.getCreatedBy() != null ? e.getCreatedBy().getId() : null)
                 .createdAt(e.getCreatedAt())
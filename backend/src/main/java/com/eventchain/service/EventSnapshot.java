@@ -0,0 +1,30 @@
+package com.eventchain.service;
+
+import com.eventchain.entity.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Immutable copy of the event fields read on hot request paths. */
+public record EventSnapshot(Long id,
+                            String title,
+                            String category,
+                            String status,
+                            BigDecimal price,
+                            int maxSeats,
+                            String lotteryMode,
+                            boolean waitingRoom,
+                            LocalDateTime lotteryDeadline,
+                            LocalDateTime eventDate) {
+
+    static EventSnapshot of(Event event) {
+        return new EventSnapshot(event.getId(), event.getTitle(), event.getCategory(), event.getStatus(),
+                event.getPrice(), event.getMaxSeats(), event.getLotteryMode(),
+                Boolean.TRUE.equals(event.getWaitingRoom()), event.getLotteryDeadline(),
+                event.getEventDate());
+    }
+
+    public boolean isOpen() {
+        return "OPEN".equals(status);
+    }
+}
@@ -0,0 +1,56 @@
+package com.eventchain.service;
+
+import com.eventchain.exception.NotFoundException;
+import com.eventchain.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of {@link EventSnapshot}s so apply and payment requests do not
+ * read the event row every time. Local changes evict the entry after commit;
+ * the TTL bounds how long another node's change can go unseen.
+ */
+@Component
+public class EventSnapshotCache {
+    private final EventRepository eventRepository;
+    private final Cache<Long, EventSnapshot> snapshots;
+
+    public EventSnapshotCache(EventRepository eventRepository,
+                              @Value("${app.event-cache.max-size:10000}") long maxSize,
+                              @Value("${app.event-cache.ttl:PT30S}") Duration ttl) {
+        this.eventRepository = eventRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public EventSnapshot get(Long eventId) {
+        EventSnapshot snapshot = snapshots.get(eventId, id -> eventRepository.findById(id)
+                .map(EventSnapshot::of)
+                .orElse(null));
+        if (snapshot == null) {
+            throw new NotFoundException("Event not found");
+        }
+        return snapshot;
+    }
+
+    /** Drops a snapshot a write against the event row has shown to be out of date. */
+    public void invalidate(Long eventId) {
+        snapshots.invalidate(eventId);
+    }
+
+    // Ahead of AnalyticsCache's version bump, so analytics recomputed after the bump see the new snapshot
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        invalidate(change.eventId());
+    }
+}
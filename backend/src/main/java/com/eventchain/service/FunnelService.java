@@ -0,0 +1,89 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.EventFunnelDto;
+import com.eventchain.dto.FunnelCohortDto;
+import com.eventchain.entity.Application;
+import com.eventchain.entity.EventFunnelCohort;
+import com.eventchain.repository.EventFunnelRepository;
+import com.eventchain.repository.EventFunnelRepositoryCustom.Stage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversion funnel per application-hour cohort: applied, selected, paid,
+ * minted, checked in, certified. Like the event counters, each transition adds
+ * to its cohort's row in the same transaction as the change, so reading the
+ * funnel never touches applications or tickets.
+ */
+@Service
+@RequiredArgsConstructor
+public class FunnelService {
+    private final EventFunnelRepository eventFunnelRepository;
+    private final EventSnapshotCache eventSnapshotCache;
+
+    public void applied(Long eventId, LocalDateTime appliedAt, long count) {
+        if (count > 0) {
+            eventFunnelRepository.increment(eventId, cohortOf(appliedAt), Stage.APPLIED, count);
+        }
+    }
+
+    /** Records one application reaching a stage after selection. */
+    public void reached(Application application, Stage stage) {
+        eventFunnelRepository.increment(application.getEvent().getId(), cohortOf(application.getCreatedAt()), stage, 1);
+    }
+
+    /** Call after {@code applyLotteryResults} has written the chunk; mirrors its seat arithmetic. */
+    public void lotterySelected(Long eventId, int lotteryRound, int firstPosition, int count, int selectedSeats) {
+        int lastSelected = Math.min(firstPosition + count, selectedSeats);
+        if (lastSelected > firstPosition) {
+            eventFunnelRepository.addSelected(eventId, lotteryRound, firstPosition + 1, lastSelected);
+        }
+    }
+
+    /** Call after a waitlist promotion; every application it selected carries the new round. */
+    public void promoted(Long eventId, int lotteryRound) {
+        eventFunnelRepository.addSelected(eventId, lotteryRound, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public EventFunnelDto getFunnel(Long eventId) {
+        eventSnapshotCache.get(eventId);
+        List<EventFunnelCohort> rows = eventFunnelRepository.findByEventIdOrderByCohortStart(eventId);
+        FunnelCohortDto totals = FunnelCohortDto.builder()
+                .applied(0L).selected(0L).paid(0L).minted(0L).checkedIn(0L).certified(0L)
+                .build();
+        List<FunnelCohortDto> cohorts = new ArrayList<>(rows.size());
+        for (EventFunnelCohort row : rows) {
+            cohorts.add(FunnelCohortDto.builder()
+                    .cohortStart(row.getCohortStart())
+                    .hour(Duration.between(rows.get(0).getCohortStart(), row.getCohortStart()).toHours())
+                    .applied(row.getApplied())
+                    .selected(row.getSelected())
+                    .paid(row.getPaid())
+                    .minted(row.getMinted())
+                    .checkedIn(row.getCheckedIn())
+                    .certified(row.getCertified())
+                    .build());
+            totals.setApplied(totals.getApplied() + row.getApplied());
+            totals.setSelected(totals.getSelected() + row.getSelected());
+            totals.setPaid(totals.getPaid() + row.getPaid());
+            totals.setMinted(totals.getMinted() + row.getMinted());
+            totals.setCheckedIn(totals.getCheckedIn() + row.getCheckedIn());
+            totals.setCertified(totals.getCertified() + row.getCertified());
+        }
+        return EventFunnelDto.builder()
+                .eventId(eventId)
+                .totals(totals)
+                .cohorts(cohorts)
+                .build();
+    }
+
+    private static LocalDateTime cohortOf(LocalDateTime appliedAt) {
+        return (appliedAt != null ? appliedAt : LocalDateTime.now()).truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,154 @@
+package com.eventchain.service;
+
+import com.eventchain.entity.IdempotencyRecord;
+import com.eventchain.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Responses recorded under an Idempotency-Key. Recent keys are served from a
+ * bounded in-memory cache; the idempotency_keys table lets a retry that lands
+ * on another node, or after an eviction, still get the original response.
+ * A key currently being processed on this node is tracked separately, so a
+ * retry that arrives before the first attempt has finished is turned away
+ * instead of running the request a second time.
+ */
+@Component
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Cache<Key, IdempotentResponse> responses;
+    private final Set<Key> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${app.idempotency.max-entries:100000}") long maxEntries) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<Key, IdempotentResponse>() {
+                    @Override
+                    public long expireAfterCreate(Key key, IdempotentResponse response, long currentTime) {
+                        return remainingNanos(response);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, IdempotentResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return remainingNanos(response);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, IdempotentResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.memoryHits = Counter.builder("idempotency.lookups").tag("result", "hit").tag("source", "memory")
+                .register(meterRegistry);
+        this.databaseHits = Counter.builder("idempotency.lookups").tag("result", "hit").tag("source", "database")
+                .register(meterRegistry);
+        this.misses = Counter.builder("idempotency.lookups").tag("result", "miss").tag("source", "none")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.cache.size", responses, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /** The response already recorded for this key, if any. */
+    public Optional<IdempotentResponse> find(Long userId, String idempotencyKey) {
+        Key key = new Key(userId, idempotencyKey);
+        IdempotentResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+        Optional<IdempotentResponse> stored = repository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(IdempotentResponse::of);
+        if (stored.isPresent()) {
+            databaseHits.increment();
+            responses.put(key, stored.get());
+        } else {
+            misses.increment();
+        }
+        return stored;
+    }
+
+    /**
+     * Memory-only lookup for the window between {@link #find} and {@link #begin}:
+     * a request on this node that finished in between has already put its response here.
+     */
+    public Optional<IdempotentResponse> findRecent(Long userId, String idempotencyKey) {
+        return Optional.ofNullable(responses.getIfPresent(new Key(userId, idempotencyKey)));
+    }
+
+    /** Marks the key as being processed; false if this node is already processing it. */
+    public boolean begin(Long userId, String idempotencyKey) {
+        return inFlight.add(new Key(userId, idempotencyKey));
+    }
+
+    public void finish(Long userId, String idempotencyKey) {
+        inFlight.remove(new Key(userId, idempotencyKey));
+    }
+
+    public void save(Long userId, String idempotencyKey, String method, String path,
+                     int status, String contentType, String body) {
+        IdempotentResponse response = new IdempotentResponse(method, path, status, contentType, body,
+                LocalDateTime.now().plus(ttl));
+        responses.put(new Key(userId, idempotencyKey), response);
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setUserId(userId);
+        record.setIdempotencyKey(idempotencyKey);
+        record.setRequestMethod(method);
+        record.setRequestPath(path);
+        record.setStatusCode(status);
+        record.setContentType(contentType);
+        record.setResponseBody(body);
+        record.setExpiresAt(response.expiresAt());
+        try {
+            repository.save(record);
+        } catch (DataIntegrityViolationException e) {
+            // Another node recorded this key first; its response is the one later retries get
+            log.debug("Idempotency key {} for user {} was already recorded", idempotencyKey, userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private static long remainingNanos(IdempotentResponse response) {
+        return Math.max(0, Duration.between(LocalDateTime.now(), response.expiresAt()).toNanos());
+    }
+
+    private record Key(Long userId, String idempotencyKey) {}
+}
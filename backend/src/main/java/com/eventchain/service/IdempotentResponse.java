@@ -0,0 +1,24 @@
+package com.eventchain.service;
+
+import com.eventchain.entity.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+/** A stored response together with the request it answered, so a reused key can be told apart from a retry. */
+public record IdempotentResponse(
+        String method,
+        String path,
+        int status,
+        String contentType,
+        String body,
+        LocalDateTime expiresAt
+) {
+    public static IdempotentResponse of(IdempotencyRecord record) {
+        return new IdempotentResponse(record.getRequestMethod(), record.getRequestPath(),
+                record.getStatusCode(), record.getContentType(), record.getResponseBody(), record.getExpiresAt());
+    }
+
+    public boolean answers(String method, String path) {
+        return this.method.equals(method) && this.path.equals(path);
+    }
+}
@@ -0,0 +1,146 @@
+package com.eventchain.service;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draw primitives that work directly on application ids so a lottery never
+ * needs more than one {@code long} per applicant in memory.
+ */
+public final class LotteryDraw {
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private LotteryDraw() {
+    }
+
+    /**
+     * Unpredictable sort key assigned when an application is created. Ordering
+     * an event's applicants by this key is itself a uniform random draw.
+     */
+    public static long priorityKey() {
+        return SECURE_RANDOM.nextLong();
+    }
+
+    public static long seed() {
+        return SECURE_RANDOM.nextLong();
+    }
+
+    /**
+     * Fisher-Yates over the first {@code prefix} positions: afterwards
+     * {@code ids[0..prefix)} is a uniform random sample in random order. The
+     * tail is left as whatever was not picked, so pass {@code ids.length} when
+     * the full ordering matters.
+     */
+    public static void shuffle(long[] ids, int prefix, RandomGenerator random) {
+        int n = ids.length;
+        int limit = Math.min(prefix, n - 1);
+        for (int i = 0; i < limit; i++) {
+            int j = i + random.nextInt(n - i);
+            long tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+    }
+
+    /**
+     * Weighted random permutation of {@code ids}: each position is filled by
+     * sampling the remaining applicants with probability proportional to their
+     * weight (sampling without replacement). Draws come from a Walker/Vose
+     * alias table, so each one costs O(1); already-picked applicants are
+     * rejected, and the table is rebuilt over the survivors once half of its
+     * weight has been drawn, which keeps the acceptance rate above one half.
+     * A round over m survivors with weights in [1, w] picks at least m / 2w of
+     * them, so the rebuilds shrink geometrically and cost O(w n) in total;
+     * with w bounded by max-bonus-entries + 1 the whole order is O(n) expected.
+     */
+    public static long[] weightedOrder(long[] ids, int[] weights, RandomGenerator random) {
+        int n = ids.length;
+        long[] order = new long[n];
+        boolean[] picked = new boolean[n];
+        int[] members = new int[n];
+        for (int i = 0; i < n; i++) {
+            members[i] = i;
+        }
+        int memberCount = n;
+        int drawn = 0;
+        while (drawn < n) {
+            AliasTable table = AliasTable.build(members, memberCount, weights);
+            double drawnWeight = 0;
+            while (drawn < n && drawnWeight * 2 <= table.totalWeight) {
+                int item = members[table.sample(random)];
+                if (picked[item]) {
+                    continue;
+                }
+                picked[item] = true;
+                order[drawn++] = ids[item];
+                drawnWeight += weights[item];
+            }
+            int kept = 0;
+            for (int i = 0; i < memberCount; i++) {
+                if (!picked[members[i]]) {
+                    members[kept++] = members[i];
+                }
+            }
+            memberCount = kept;
+        }
+        return order;
+    }
+
+    private static final class AliasTable {
+        private final double[] probability;
+        private final int[] alias;
+        private final double totalWeight;
+
+        private AliasTable(double[] probability, int[] alias, double totalWeight) {
+            this.probability = probability;
+            this.alias = alias;
+            this.totalWeight = totalWeight;
+        }
+
+        /** Vose's construction over {@code members[0..size)}; sampled slots index into {@code members}. */
+        static AliasTable build(int[] members, int size, int[] weights) {
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += weights[members[i]];
+            }
+            double[] probability = new double[size];
+            int[] alias = new int[size];
+            int[] small = new int[size];
+            int[] large = new int[size];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < size; i++) {
+                probability[i] = weights[members[i]] * size / total;
+                if (probability[i] < 1.0) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                alias[less] = more;
+                probability[more] = probability[more] + probability[less] - 1.0;
+                if (probability[more] < 1.0) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            while (largeCount > 0) {
+                probability[large[--largeCount]] = 1.0;
+            }
+            while (smallCount > 0) {
+                // Only reachable through floating point drift
+                probability[small[--smallCount]] = 1.0;
+            }
+            return new AliasTable(probability, alias, total);
+        }
+
+        int sample(RandomGenerator random) {
+            int slot = random.nextInt(probability.length);
+            return random.nextDouble() < probability[slot] ? slot : alias[slot];
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.eventchain.service;
+
+import com.eventchain.entity.LotteryJob;
+import com.eventchain.exception.NotFoundException;
+import com.eventchain.repository.ApplicationRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventRepository;
+import com.eventchain.repository.LotteryJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Executes lottery jobs in the background. Every chunk of applicants is
+ * written in its own transaction together with the job's cursor, so a job
+ * that dies part-way is picked up again by {@link #recoverStaleJobs()} and
+ * continues from the last committed position.
+ */
+@Component
+public class LotteryJobRunner {
+    private static final Logger log = LoggerFactory.getLogger(LotteryJobRunner.class);
+
+    private final LotteryJobRepository lotteryJobRepository;
+    private final ApplicationRepository applicationRepository;
+    private final EventRepository eventRepository;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor lotteryExecutor;
+    private final TaskScheduler taskScheduler;
+    private final int chunkSize;
+    private final Duration staleAfter;
+
+    public LotteryJobRunner(LotteryJobRepository lotteryJobRepository,
+                            ApplicationRepository applicationRepository,
+                            EventRepository eventRepository,
+                            EventCounterService eventCounterService,
+                            FunnelService funnelService,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            @Qualifier("lotteryExecutor") TaskExecutor lotteryExecutor,
+                            TaskScheduler taskScheduler,
+                            @Value("${lottery.job.chunk-size:5000}") int chunkSize,
+                            @Value("${lottery.job.stale-after:PT2M}") Duration staleAfter) {
+        this.lotteryJobRepository = lotteryJobRepository;
+        this.applicationRepository = applicationRepository;
+        this.eventRepository = eventRepository;
+        this.eventCounterService = eventCounterService;
+        this.funnelService = funnelService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.lotteryExecutor = lotteryExecutor;
+        this.taskScheduler = taskScheduler;
+        this.chunkSize = chunkSize;
+        this.staleAfter = staleAfter;
+    }
+
+    /** Queues the job once the surrounding transaction has committed the job row. */
+    public void submitAfterCommit(Long jobId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(jobId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(jobId);
+            }
+        });
+    }
+
+    public void submit(Long jobId) {
+        try {
+            lotteryExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            // The job row stays QUEUED, so recoverStaleJobs() submits it again once the pool has room
+            log.warn("Lottery pool is full, job {} will be retried by recovery", jobId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lottery.job.recovery-interval-ms:60000}")
+    public void recoverStaleJobs() {
+        for (Long jobId : lotteryJobRepository.findStaleJobIds(LocalDateTime.now().minus(staleAfter))) {
+            log.warn("Resuming stale lottery job {}", jobId);
+            submit(jobId);
+        }
+    }
+
+    void run(Long jobId) {
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        if (lotteryJobRepository.claim(jobId, owner, now, now.minus(staleAfter)) == 0) {
+            return;
+        }
+        try {
+            JobPlan plan = transactionTemplate.execute(tx -> {
+                LotteryJob job = lockOwnedJob(jobId, owner);
+                job.setStatus("PREPARING");
+                if (job.getStartedAt() == null) {
+                    job.setStartedAt(LocalDateTime.now());
+                }
+                return new JobPlan(job.getEvent().getId(), job.getSelectedSeats(), job.getLotteryRound(),
+                        job.getLotteryMode(), job.getSeed(), job.getProcessed() > 0);
+            });
+
+            // Once rows have been drawn the key order is fixed, so a resumed job goes straight back to drawing
+            if (!plan.drawingStarted()) {
+                if ("WEIGHTED".equals(plan.lotteryMode())) {
+                    prepareWeightedOrder(jobId, owner, plan);
+                } else {
+                    prepareMissingKeys(jobId, owner, plan);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(tx -> lockOwnedJob(jobId, owner).setStatus("DRAWING"));
+
+            while (Boolean.TRUE.equals(transactionTemplate.execute(tx -> drawChunk(jobId, owner, plan)))) {
+                // each chunk commits its rows together with the advanced cursor
+            }
+
+            transactionTemplate.executeWithoutResult(tx -> {
+                LotteryJob job = lockOwnedJob(jobId, owner);
+                eventRepository.findById(plan.eventId()).ifPresent(event -> {
+                    event.setStatus("LOTTERY_DONE");
+                    eventRepository.save(event);
+                    eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
+                });
+                job.setStatus("COMPLETED");
+                job.setCompletedAt(LocalDateTime.now());
+            });
+            log.info("Lottery job {} for event {} completed", jobId, plan.eventId());
+        } catch (LostOwnershipException e) {
+            log.warn("Lottery job {} was taken over by another worker", jobId);
+        } catch (Exception e) {
+            log.error("Lottery job {} failed", jobId, e);
+            transactionTemplate.executeWithoutResult(tx -> lotteryJobRepository.findById(jobId).ifPresent(job -> {
+                if (owner.equals(job.getOwnerToken())) {
+                    job.setStatus("FAILED");
+                    job.setErrorMessage(truncate(e.getMessage()));
+                }
+            }));
+        }
+    }
+
+    /** Applications that predate priority keys get one now, so the draw order is fixed before writing. */
+    private void prepareMissingKeys(Long jobId, String owner, JobPlan plan) {
+        while (Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            lockOwnedJob(jobId, owner);
+            long[] ids = applicationRepository.findUnkeyedApplicantIds(plan.eventId(), chunkSize);
+            long[] keys = new long[ids.length];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = LotteryDraw.priorityKey();
+            }
+            applicationRepository.assignLotteryKeys(ids, keys);
+            return ids.length > 0;
+        }))) {
+            // keep going until every applicant has a key
+        }
+    }
+
+    /**
+     * Computes the weighted order in memory from the job's seed and stores it
+     * as lottery_key ranks. The input set and seed do not change before drawing
+     * starts, so a crash here simply recomputes and rewrites the same ranks.
+     * Reading and ordering every applicant writes nothing and takes longer the
+     * more applicants there are, so meanwhile the heartbeat is refreshed on its
+     * own every quarter of stale-after to keep recovery from taking the job.
+     */
+    private void prepareWeightedOrder(Long jobId, String owner, JobPlan plan) {
+        long[] order;
+        ScheduledFuture<?> heartbeat = taskScheduler.scheduleAtFixedRate(
+                () -> heartbeat(jobId, owner), staleAfter.dividedBy(4));
+        try {
+            var applicants = applicationRepository.findWeightedApplicants(plan.eventId());
+            order = LotteryDraw.weightedOrder(applicants.ids(), applicants.weights(),
+                    new SplittableRandom(plan.seed()));
+        } finally {
+            heartbeat.cancel(false);
+        }
+        for (int from = 0; from < order.length; from += chunkSize) {
+            long[] chunk = Arrays.copyOfRange(order, from, Math.min(from + chunkSize, order.length));
+            int offset = from;
+            transactionTemplate.executeWithoutResult(tx -> {
+                lockOwnedJob(jobId, owner);
+                applicationRepository.writeLotteryRanks(chunk, offset);
+            });
+        }
+        log.info("Lottery job {} ranked {} weighted applicants (seed {})", jobId, order.length, plan.seed());
+    }
+
+    private boolean drawChunk(Long jobId, String owner, JobPlan plan) {
+        LotteryJob job = lockOwnedJob(jobId, owner);
+        long[] ids = applicationRepository.findApplicantIdsByLotteryKey(plan.eventId(), chunkSize);
+        if (ids.length == 0) {
+            return false;
+        }
+        int firstPosition = job.getProcessed().intValue();
+        applicationRepository.applyLotteryResults(ids, firstPosition, plan.selectedSeats(), plan.lotteryRound());
+        eventCounterService.record(plan.eventId(), Delta.lotteryResults(firstPosition, ids.length, plan.selectedSeats()));
+        funnelService.lotterySelected(plan.eventId(), plan.lotteryRound(), firstPosition, ids.length, plan.selectedSeats());
+        job.setProcessed(job.getProcessed() + ids.length);
+        return true;
+    }
+
+    /** Runs on the scheduler; an exception would cancel the remaining beats, so it is only logged. */
+    private void heartbeat(Long jobId, String owner) {
+        try {
+            if (lotteryJobRepository.heartbeat(jobId, owner, LocalDateTime.now()) == 0) {
+                log.warn("Lottery job {} lost ownership while ordering applicants", jobId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh heartbeat of lottery job {}", jobId, e);
+        }
+    }
+
+    private LotteryJob lockOwnedJob(Long jobId, String owner) {
+        LotteryJob job = lotteryJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new NotFoundException("Lottery job not found"));
+        if (!owner.equals(job.getOwnerToken())) {
+            throw new LostOwnershipException();
+        }
+        job.setHeartbeatAt(LocalDateTime.now());
+        return job;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    private record JobPlan(Long eventId, int selectedSeats, int lotteryRound,
+                           String lotteryMode, long seed, boolean drawingStarted) {}
+
+    private static class LostOwnershipException extends RuntimeException {
+    }
+}
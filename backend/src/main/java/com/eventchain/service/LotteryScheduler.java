@@ -0,0 +1,53 @@
+package com.eventchain.service;
+
+import com.eventchain.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Starts the lottery for every OPEN event whose deadline has passed. Each
+ * event is claimed in its own short transaction under the event row lock, and
+ * the unique job row per event means only one node ever queues it. The draws
+ * then run concurrently on the bounded lottery pool.
+ */
+@Component
+public class LotteryScheduler {
+    private static final Logger log = LoggerFactory.getLogger(LotteryScheduler.class);
+
+    private final EventRepository eventRepository;
+    private final LotteryService lotteryService;
+    private final boolean enabled;
+
+    public LotteryScheduler(EventRepository eventRepository,
+                            LotteryService lotteryService,
+                            @Value("${lottery.scheduler.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.lotteryService = lotteryService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${lottery.scheduler.interval-ms:30000}")
+    public void startDueLotteries() {
+        if (!enabled) {
+            return;
+        }
+        int started = 0;
+        for (Long eventId : eventRepository.findIdsByStatusAndLotteryDeadlinePassed("OPEN", LocalDateTime.now())) {
+            try {
+                if (lotteryService.startIfDue(eventId)) {
+                    started++;
+                }
+            } catch (Exception e) {
+                log.error("Could not start lottery for event {}", eventId, e);
+            }
+        }
+        if (started > 0) {
+            log.info("Scheduled {} lotteries whose deadline has passed", started);
+        }
+    }
+}
@@ -1,32 +1,68 @@
 package com.eventchain.service;
 
+import com.eventchain.dto.LotteryJobDto;
 import com.eventchain.entity.Application;
 import com.eventchain.entity.Event;
+import com.eventchain.entity.LotteryJob;
 import com.eventchain.exception.BadRequestException;
 import com.eventchain.exception.NotFoundException;
 import com.eventchain.repository.ApplicationRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
 import com.eventchain.repository.EventRepository;
+import com.eventchain.repository.LotteryJobRepository;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
 
 @Service
 @RequiredArgsConstructor
 public class LotteryService {
+    private static final Logger log = LoggerFactory.getLogger(LotteryService.class);
+
     private final EventRepository eventRepository;
     private final ApplicationRepository applicationRepository;
+    private final LotteryJobRepository lotteryJobRepository;
+    private final LotteryJobRunner lotteryJobRunner;
+    private final OverbookingSimulator overbookingSimulator;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
+    private final ApplicationEventPublisher eventPublisher;
     private final UserService userService;
 
+    @Value("${lottery.bulk.enabled:true}")
+    private boolean bulkCommit;
+
+    @Value("${lottery.job.async:true}")
+    private boolean async;
+
     @Transactional
-    public void triggerLottery(Long eventId, Authentication auth) {
-        Event event = eventRepository.findById(eventId)
+    public LotteryJobDto triggerLottery(Long eventId, Authentication auth) {
+        // Locking the event row serialises concurrent triggers without locking every applicant
+        Event event = eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
+
+        LotteryJob existing = lotteryJobRepository.findByEventId(eventId).orElse(null);
+        if (existing != null) {
+            if ("COMPLETED".equals(existing.getStatus())) {
+                throw new BadRequestException("Lottery has already been drawn");
+            }
+            if ("FAILED".equals(existing.getStatus())) {
+                existing.setStatus("QUEUED");
+                existing.setErrorMessage(null);
+                existing.setHeartbeatAt(null);
+                lotteryJobRunner.submitAfterCommit(existing.getId());
+            }
+            return toDto(existing);
+        }
+
         if (!"OPEN".equals(event.getStatus())) {
             throw new BadRequestException("Lottery can only be triggered for OPEN events");
         }
@@ -34,26 +70,136 @@ public class LotteryService {
             throw new BadRequestException("Lottery deadline has not passed");
         }
 
-        List<Application> applicants = applicationRepository.findApplicantsForLottery(eventId);
-        int maxSeats = event.getMaxSeats();
-
-        Collections.shuffle(applicants, ThreadLocalRandom.current());
-
-        for (int i = 0; i < applicants.size(); i++) {
-            Application app = applicants.get(i);
-            if (i < maxSeats) {
-                app.setStatus("SELECTED");
-                app.setApplicationOrder(i + 1);
-                app.setLotteryRound(1);
-            } else {
-                app.setStatus("WAITLISTED");
-                app.setApplicationOrder(i + 1);
-                app.setLotteryRound(1);
+        return toDto(startLottery(event, async));
+    }
+
+    /**
+     * Starts the lottery for an event whose deadline has passed, unless it is
+     * no longer OPEN or another node has already queued its job. Used by
+     * {@link LotteryScheduler}; the draw itself always runs on the lottery pool.
+     *
+     * @return true if this call queued a new job
+     */
+    @Transactional
+    public boolean startIfDue(Long eventId) {
+        // Waits for any other node holding the event, which will have queued the job by the time we get in
+        Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+        if (event == null || !"OPEN".equals(event.getStatus())
+                || LocalDateTime.now().isBefore(event.getLotteryDeadline())
+                || lotteryJobRepository.findByEventId(eventId).isPresent()) {
+            return false;
+        }
+        startLottery(event, true);
+        return true;
+    }
+
+    private LotteryJob startLottery(Event event, boolean runAsync) {
+        LotteryJob job = new LotteryJob();
+        job.setEvent(event);
+        job.setSelectedSeats(overbookingSimulator.recommendSeats(event));
+        job.setLotteryRound(1);
+        job.setLotteryMode(event.getLotteryMode());
+        job.setSeed(LotteryDraw.seed());
+        job.setTotalApplicants(applicationRepository.countByEventIdAndStatus(event.getId(), "APPLIED"));
+
+        if (!runAsync) {
+            int drawn = drawInline(event, job);
+            job.setProcessed((long) drawn);
+            job.setStatus("COMPLETED");
+            job.setStartedAt(LocalDateTime.now());
+            job.setCompletedAt(LocalDateTime.now());
+            return lotteryJobRepository.save(job);
+        }
+
+        // Closing the event first stops new applications from slipping in behind the cursor
+        event.setStatus("LOTTERY_RUNNING");
+        eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
+        job = lotteryJobRepository.save(job);
+        lotteryJobRunner.submitAfterCommit(job.getId());
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public LotteryJobDto getStatus(Long eventId) {
+        return lotteryJobRepository.findByEventId(eventId)
+                .map(this::toDto)
+                .orElseThrow(() -> new NotFoundException("No lottery has been triggered for this event"));
+    }
+
+    private int drawInline(Event event, LotteryJob job) {
+        int selectedSeats = job.getSelectedSeats();
+        int lotteryRound = job.getLotteryRound();
+        long[] applicantIds = "WEIGHTED".equals(job.getLotteryMode())
+                ? weightedOrder(event.getId(), job.getSeed())
+                : drawOrder(event.getId(), job.getSeed());
+
+        if (bulkCommit) {
+            applicationRepository.applyLotteryResults(applicantIds, 0, selectedSeats, lotteryRound);
+        } else {
+            for (int i = 0; i < applicantIds.length; i++) {
+                Application app = applicationRepository.getReferenceById(applicantIds[i]);
+                if (i < selectedSeats) {
+                    app.setStatus("SELECTED");
+                    app.setApplicationOrder(i + 1);
+                    app.setLotteryRound(lotteryRound);
+                    app.setSelectedAt(LocalDateTime.now());
+                } else {
+                    app.setStatus("WAITLISTED");
+                    app.setApplicationOrder(i + 1);
+                    app.setLotteryRound(lotteryRound);
+                }
+                applicationRepository.save(app);
             }
-            applicationRepository.save(app);
+            // The funnel reads the selected rows back with SQL, so they have to be written first
+            applicationRepository.flush();
         }
+        eventCounterService.record(event.getId(), Delta.lotteryResults(0, applicantIds.length, selectedSeats));
+        funnelService.lotterySelected(event.getId(), lotteryRound, 0, applicantIds.length, selectedSeats);
 
         event.setStatus("LOTTERY_DONE");
         eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
+        return applicantIds.length;
+    }
+
+    private long[] drawOrder(Long eventId, long seed) {
+        if (!applicationRepository.existsByEventIdAndStatusAndLotteryKeyIsNull(eventId, "APPLIED")) {
+            // Every applicant got a random key at apply time, so key order already is the draw
+            return applicationRepository.findApplicantIdsByLotteryKey(eventId);
+        }
+
+        long[] applicantIds = applicationRepository.findApplicantIdsForLottery(eventId);
+        // Seeded from the job, so the stored seed reproduces the draw. The waitlist is promoted
+        // in application_order, so the whole array is shuffled, not just the seats
+        LotteryDraw.shuffle(applicantIds, applicantIds.length, new SplittableRandom(seed));
+        log.info("Lottery for event {} shuffled {} applicants without priority keys (seed {})",
+                eventId, applicantIds.length, seed);
+        return applicantIds;
+    }
+
+    private long[] weightedOrder(Long eventId, long seed) {
+        var applicants = applicationRepository.findWeightedApplicants(eventId);
+        long[] order = LotteryDraw.weightedOrder(applicants.ids(), applicants.weights(),
+                new SplittableRandom(seed));
+        log.info("Weighted lottery for event {} ordered {} applicants (seed {})", eventId, order.length, seed);
+        return order;
+    }
+
+    private LotteryJobDto toDto(LotteryJob job) {
+        long total = job.getTotalApplicants();
+        return LotteryJobDto.builder()
+                .jobId(job.getId())
+                .eventId(job.getEvent().getId())
+                .status(job.getStatus())
+                .totalApplicants(total)
+                .processed(job.getProcessed())
+                .progressPercentage(total > 0 ? Math.min(100.0, job.getProcessed() * 100.0 / total)
+                        : ("COMPLETED".equals(job.getStatus()) ? 100.0 : 0.0))
+                .selectedSeats(job.getSelectedSeats())
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
     }
 }
@@ -0,0 +1,155 @@
+package com.eventchain.service;
+
+import com.eventchain.entity.Event;
+import com.eventchain.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Decides how many applicants to select when an event allows overbooking.
+ * Each Monte Carlo trial resamples the show-up rate of a past event in the
+ * same category and simulates attendance for a candidate number of
+ * selections; a binary search then finds the largest number whose chance of
+ * staying within capacity still meets the event's target.
+ */
+@Component
+public class OverbookingSimulator {
+    private static final Logger log = LoggerFactory.getLogger(OverbookingSimulator.class);
+
+    /** Up to this many selections every seat is simulated; above it a normal approximation is used. */
+    private static final int EXACT_LIMIT = 200;
+    private static final int TRIALS_PER_TASK = 4096;
+
+    private final TicketRepository ticketRepository;
+    private final ForkJoinPool pool;
+    private final int trials;
+    private final double maxFactor;
+    private final int minHistory;
+
+    public OverbookingSimulator(TicketRepository ticketRepository,
+                                @Qualifier("overbookingPool") ForkJoinPool pool,
+                                @Value("${lottery.overbooking.trials:100000}") int trials,
+                                @Value("${lottery.overbooking.max-factor:1.5}") double maxFactor,
+                                @Value("${lottery.overbooking.min-history:3}") int minHistory) {
+        this.ticketRepository = ticketRepository;
+        this.pool = pool;
+        this.trials = trials;
+        this.maxFactor = maxFactor;
+        this.minHistory = minHistory;
+    }
+
+    /** Number of applicants to select; exactly maxSeats unless overbooking is on and there is enough history. */
+    public int recommendSeats(Event event) {
+        int capacity = event.getMaxSeats();
+        Double target = event.getOverbookingTarget();
+        if (target == null || event.getCategory() == null) {
+            return capacity;
+        }
+        double[] showRates = ticketRepository.findAttendanceByCategory(event.getCategory(), LocalDateTime.now())
+                .stream()
+                .filter(h -> h.getTickets() > 0)
+                .mapToDouble(h -> (double) h.getCheckedIn() / h.getTickets())
+                .toArray();
+        if (showRates.length < minHistory) {
+            log.info("Not overbooking event {}: only {} past {} events with tickets",
+                    event.getId(), showRates.length, event.getCategory());
+            return capacity;
+        }
+        long started = System.nanoTime();
+        int seats = recommend(showRates, capacity, target, trials, maxFactor, LotteryDraw.seed(), pool);
+        log.info("Overbooking event {}: selecting {} for {} seats (target {}, {} past events, {} ms)",
+                event.getId(), seats, capacity, target, showRates.length, (System.nanoTime() - started) / 1_000_000);
+        return seats;
+    }
+
+    /**
+     * Largest selection count in {@code [capacity, capacity * maxFactor]} whose
+     * simulated probability of attendance not exceeding {@code capacity} is at
+     * least {@code target}. Every candidate is evaluated against the same
+     * trials, so the search compares like with like.
+     */
+    public static int recommend(double[] showRates, int capacity, double target, int trials,
+                                double maxFactor, long seed, ForkJoinPool pool) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Trials sampled = new Trials(new double[trials], new double[trials], new long[trials]);
+        for (int t = 0; t < trials; t++) {
+            sampled.showRate[t] = showRates[random.nextInt(showRates.length)];
+            sampled.deviation[t] = random.nextGaussian();
+            sampled.seed[t] = random.nextLong();
+        }
+
+        int low = capacity;
+        int high = (int) Math.floor(capacity * maxFactor);
+        long required = (long) Math.ceil(target * trials);
+        while (low < high) {
+            int candidate = (low + high + 1) >>> 1;
+            long withinCapacity = pool.invoke(new WithinCapacityTask(sampled, candidate, capacity, 0, trials));
+            if (withinCapacity >= required) {
+                low = candidate;
+            } else {
+                high = candidate - 1;
+            }
+        }
+        return low;
+    }
+
+    private record Trials(double[] showRate, double[] deviation, long[] seed) {}
+
+    private static class WithinCapacityTask extends RecursiveTask<Long> {
+        private final Trials trials;
+        private final int selected;
+        private final int capacity;
+        private final int from;
+        private final int to;
+
+        WithinCapacityTask(Trials trials, int selected, int capacity, int from, int to) {
+            this.trials = trials;
+            this.selected = selected;
+            this.capacity = capacity;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= TRIALS_PER_TASK) {
+                long count = 0;
+                for (int t = from; t < to; t++) {
+                    if (withinCapacity(t)) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            int mid = (from + to) >>> 1;
+            WithinCapacityTask left = new WithinCapacityTask(trials, selected, capacity, from, mid);
+            left.fork();
+            long right = new WithinCapacityTask(trials, selected, capacity, mid, to).compute();
+            return right + left.join();
+        }
+
+        private boolean withinCapacity(int t) {
+            double p = trials.showRate()[t];
+            if (selected <= EXACT_LIMIT) {
+                SplittableRandom random = new SplittableRandom(trials.seed()[t]);
+                int attending = 0;
+                for (int i = 0; i < selected; i++) {
+                    if (random.nextDouble() < p && ++attending > capacity) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            double attending = selected * p + trials.deviation()[t] * Math.sqrt(selected * p * (1 - p));
+            return attending <= capacity + 0.5;
+        }
+    }
+}
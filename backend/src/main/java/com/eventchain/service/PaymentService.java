@@ -7,23 +7,33 @@ import org.springframework.transaction.annotation.Transactional;
 import com.eventchain.dto.CheckoutSessionResponse;
 import com.eventchain.entity.Payment;
 import com.eventchain.entity.Ticket;
+import com.eventchain.exception.BadRequestException;
 import com.eventchain.exception.NotFoundException;
 import com.eventchain.payment.RazorpayService;
 import com.eventchain.repository.ApplicationRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.EventFunnelRepositoryCustom.Stage;
 import com.eventchain.repository.PaymentRepository;
 import com.eventchain.repository.TicketRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+
     private final RazorpayService razorpayService;
     private final PaymentRepository paymentRepository;
     private final ApplicationRepository applicationRepository;
     private final TicketRepository ticketRepository;
+    private final EventSnapshotCache eventSnapshotCache;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
 
     @Autowired(required = false)
     private com.eventchain.blockchain.NftContractService nftContractService;
@@ -32,17 +42,23 @@ public class PaymentService {
     public CheckoutSessionResponse createCheckoutSession(Long applicationId) {
         var application = applicationRepository.findById(applicationId)
                 .orElseThrow(() -> new NotFoundException("Application not found"));
+        if (!"SELECTED".equals(application.getStatus())) {
+            throw new BadRequestException("Only selected applications can be paid for");
+        }
         
+        // The proxy's id is known without loading the event row
+        EventSnapshot event = eventSnapshotCache.get(application.getEvent().getId());
+
         String orderId = razorpayService.createCheckoutSession(
             applicationId, 
-            application.getEvent().getTitle(), 
+            event.title(), 
             application.getUser().getEmail(), 
-            application.getEvent().getPrice()
+            event.price()
         );
         
         var payment = new Payment();
         payment.setApplication(application);
-        payment.setAmount(application.getEvent().getPrice());
+        payment.setAmount(event.price());
         payment.setCurrency("INR");
         payment.setStatus("PENDING");
         payment.setRazorpayOrderId(orderId);
@@ -56,7 +72,8 @@ public class PaymentService {
 
     @Transactional
     public void handlePaymentSuccess(String sessionId) {
-        Optional<Payment> paymentOpt = paymentRepository.findByRazorpayOrderId(sessionId);
+        // Locked so a redelivered notification waits and then sees COMPLETED instead of counting the payment twice
+        Optional<Payment> paymentOpt = paymentRepository.findByRazorpayOrderIdForUpdate(sessionId);
         if (paymentOpt.isEmpty()) return;
 
         Payment payment = paymentOpt.get();
@@ -64,35 +81,35 @@ public class PaymentService {
             mintAndCreateTicketIfNeeded(payment);
             return;
         }
+        if (!"PENDING".equals(payment.getStatus())) {
+            return;
+        }
 
-        payment.setStatus("COMPLETED");
-        paymentRepository.save(payment);
-
-        var app = payment.getApplication();
-        app.setStatus("PAID");
-        applicationRepository.save(app);
-
-        mintAndCreateTicketIfNeeded(payment);
+        if (complete(payment)) {
+            mintAndCreateTicketIfNeeded(payment);
+        }
     }
 
     @Transactional
     public void handleWebhook(String orderId, String paymentId, String signature) {
         if (razorpayService.verifyPayment(orderId, paymentId, signature)) {
-            var payment = paymentRepository.findByRazorpayOrderId(orderId)
+            var payment = paymentRepository.findByRazorpayOrderIdForUpdate(orderId)
                     .orElseThrow(() -> new NotFoundException("Payment not found"));
-            
-            payment.setStatus("COMPLETED");
-            paymentRepository.save(payment);
-            
+            if (!"PENDING".equals(payment.getStatus()) || payment.getApplication() == null) {
+                return;
+            }
+
             // Create ticket if payment is successful
-            var application = payment.getApplication();
-            if (application != null && "SELECTED".equals(application.getStatus())) {
+            if (complete(payment)) {
+                var application = payment.getApplication();
                 var ticket = new Ticket();
                 ticket.setApplication(application);
                 ticket.setEvent(application.getEvent());
                 ticket.setUser(application.getUser());
                 ticket.setTokenId(System.currentTimeMillis()); // Temporary token ID
                 ticketRepository.save(ticket);
+                eventCounterService.record(application.getEvent().getId(), Delta.ticketMinted());
+                funnelService.reached(application, Stage.MINTED);
                 
                 // Mint NFT if blockchain is enabled
                 try {
@@ -109,6 +126,35 @@ public class PaymentService {
         }
     }
 
+    /**
+     * Completes a pending payment. The application row is locked first, so a
+     * payment racing the release of an unpaid selection either lands before it
+     * or sees the application already RELEASED. Only a still-SELECTED
+     * application becomes PAID; otherwise its seat may have gone to the
+     * waitlist, so the payment is left for refund and counts nowhere.
+     *
+     * @return whether the application now holds a paid seat
+     */
+    private boolean complete(Payment payment) {
+        var app = applicationRepository.findByIdForUpdate(payment.getApplication().getId())
+                .orElseThrow(() -> new NotFoundException("Application not found"));
+        if (!"SELECTED".equals(app.getStatus())) {
+            log.warn("Payment {} arrived for application {} in status {}; marking it for refund",
+                    payment.getId(), app.getId(), app.getStatus());
+            payment.setStatus("REFUND_PENDING");
+            paymentRepository.save(payment);
+            return false;
+        }
+
+        payment.setStatus("COMPLETED");
+        paymentRepository.save(payment);
+        eventCounterService.paymentCompleted(app.getEvent().getId(), payment.getAmount());
+        funnelService.reached(app, Stage.PAID);
+        app.setStatus("PAID");
+        applicationRepository.save(app);
+        return true;
+    }
+
     public Optional<Payment> getPaymentByApplicationId(Long applicationId) {
         return paymentRepository.findByApplicationId(applicationId);
     }
@@ -137,6 +183,8 @@ public class PaymentService {
                 ticket.setTokenId(result.tokenId());
                 ticket.setTransactionHash(result.transactionHash());
                 ticketRepository.save(ticket);
+                eventCounterService.record(application.getEvent().getId(), Delta.ticketMinted());
+                funnelService.reached(application, Stage.MINTED);
 
                 payment.setTransactionHash(result.transactionHash());
                 paymentRepository.save(payment);
@@ -0,0 +1,200 @@
+package com.eventchain.service;
+
+import com.eventchain.dto.QueueStatusDto;
+import com.eventchain.dto.QueueTicketDto;
+import com.eventchain.exception.BadRequestException;
+import com.eventchain.exception.ForbiddenException;
+import com.eventchain.exception.ServiceUnavailableException;
+import com.eventchain.security.QueueTokenProvider;
+import com.eventchain.security.QueueTokenProvider.QueueToken;
+import com.eventchain.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission queue in front of apply for events created with a waiting room.
+ * Joining hands out the next position as a signed token; a ticker admits
+ * positions at {@code app.waiting-room.admit-per-second} and broadcasts how far
+ * admission has got on {@code /topic/event/{eventId}/queue}, so one message per
+ * tick serves every waiting client. Apply and intake accept a user only once
+ * their position has been admitted.
+ * <p>
+ * Queue state lives on the node that issued the positions; behind a load
+ * balancer the waiting room endpoints and apply must stick to one node per
+ * event, and the admission rate applies per node.
+ */
+@Service
+public class WaitingRoomService {
+    private final EventSnapshotCache eventSnapshotCache;
+    private final QueueTokenProvider queueTokenProvider;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final double admitPerSecond;
+    private final double admitPerTick;
+    private final Cache<Long, Room> rooms;
+
+    public WaitingRoomService(EventSnapshotCache eventSnapshotCache,
+                              QueueTokenProvider queueTokenProvider,
+                              SimpMessagingTemplate messagingTemplate,
+                              @Value("${app.waiting-room.admit-per-second:50}") double admitPerSecond,
+                              @Value("${app.waiting-room.tick-ms:1000}") long tickMs,
+                              @Value("${app.waiting-room.token-ttl:PT2H}") Duration tokenTtl) {
+        this.eventSnapshotCache = eventSnapshotCache;
+        this.queueTokenProvider = queueTokenProvider;
+        this.messagingTemplate = messagingTemplate;
+        this.admitPerSecond = admitPerSecond;
+        this.admitPerTick = admitPerSecond * tickMs / 1000.0;
+        // A room nobody has touched for a token lifetime has no valid tokens left
+        this.rooms = Caffeine.newBuilder()
+                .expireAfterAccess(tokenTtl)
+                .build();
+    }
+
+    /**
+     * Issues a position, or reports on the caller's existing one if they pass a
+     * token for this event. A user joins a room once: joining again without the
+     * token re-signs the position they already hold rather than taking a new one.
+     */
+    public QueueTicketDto join(Long eventId, String existingToken, Authentication auth) {
+        Long userId = userId(auth);
+        EventSnapshot event = eventSnapshotCache.get(eventId);
+        if (!event.waitingRoom()) {
+            throw new BadRequestException("This event has no waiting room");
+        }
+        if (!event.isOpen()) {
+            throw new BadRequestException("Applications are closed for this event");
+        }
+        Room room = rooms.get(eventId, id -> new Room());
+        QueueToken held = existingToken != null ? verify(existingToken, eventId, userId) : null;
+        if (held != null) {
+            room.observe(held.position());
+            room.positions.putIfAbsent(userId, held.position());
+            return ticket(eventId, existingToken, held.position(), room);
+        }
+        long position = room.positions.computeIfAbsent(userId, id -> room.issued.incrementAndGet());
+        return ticket(eventId, queueTokenProvider.generate(userId, eventId, position), position, room);
+    }
+
+    public QueueTicketDto status(Long eventId, String token, Authentication auth) {
+        QueueToken held = verify(token, eventId, userId(auth));
+        if (held == null) {
+            throw new ForbiddenException("A valid waiting room token is required");
+        }
+        Room room = rooms.get(eventId, id -> new Room());
+        room.observe(held.position());
+        return ticket(eventId, token, held.position(), room);
+    }
+
+    /**
+     * Lets the caller through if the event has no waiting room or their
+     * token's position has been admitted; otherwise tells them how long to wait.
+     */
+    public void requireAdmitted(EventSnapshot event, Long userId, String token) {
+        if (!event.waitingRoom()) {
+            return;
+        }
+        QueueToken held = token != null ? verify(token, event.id(), userId) : null;
+        if (held == null) {
+            throw new ForbiddenException("Join the waiting room before applying to this event");
+        }
+        Room room = rooms.get(event.id(), id -> new Room());
+        room.observe(held.position());
+        long ahead = held.position() - room.admittedThrough;
+        if (ahead > 0) {
+            throw new ServiceUnavailableException("Not admitted yet, position " + held.position()
+                    + " of " + room.issued.get(), waitSeconds(ahead));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.waiting-room.tick-ms:1000}")
+    public void admit() {
+        rooms.asMap().forEach((eventId, room) -> {
+            if (room.advance(admitPerTick)) {
+                messagingTemplate.convertAndSend("/topic/event/" + eventId + "/queue", QueueStatusDto.builder()
+                        .eventId(eventId)
+                        .admittedThrough(room.admittedThrough)
+                        .waiting(room.issued.get() - room.admittedThrough)
+                        .admitPerSecond(admitPerSecond)
+                        .build());
+            }
+        });
+    }
+
+    private QueueToken verify(String token, Long eventId, Long userId) {
+        QueueToken parsed = queueTokenProvider.parse(token);
+        if (parsed == null || !eventId.equals(parsed.eventId()) || !userId.equals(parsed.userId())) {
+            return null;
+        }
+        return parsed;
+    }
+
+    private QueueTicketDto ticket(Long eventId, String token, long position, Room room) {
+        long ahead = position - room.admittedThrough;
+        return QueueTicketDto.builder()
+                .eventId(eventId)
+                .token(token)
+                .position(position)
+                .admittedThrough(room.admittedThrough)
+                .admitted(ahead <= 0)
+                .estimatedWaitSeconds(ahead > 0 ? waitSeconds(ahead) : 0L)
+                .build();
+    }
+
+    private long waitSeconds(long ahead) {
+        return Math.max(1, (long) Math.ceil(ahead / admitPerSecond));
+    }
+
+    private static Long userId(Authentication auth) {
+        if (auth == null || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new BadRequestException("User not authenticated");
+        }
+        return principal.getId();
+    }
+
+    private static final class Room {
+        final AtomicLong issued = new AtomicLong();
+        /** Position held by each user who joined through this node. */
+        final Map<Long, Long> positions = new ConcurrentHashMap<>();
+        volatile long admittedThrough;
+        // Only the ticker thread touches these
+        private double credit;
+        private long broadcastAdmitted = -1;
+        private long broadcastIssued = -1;
+
+        /** Positions from another node, or from before a restart, still count as taken. */
+        void observe(long position) {
+            issued.accumulateAndGet(position, Math::max);
+        }
+
+        /** @return true if the room changed since the last broadcast */
+        boolean advance(double admitPerTick) {
+            long waiting = issued.get() - admittedThrough;
+            if (waiting > 0) {
+                credit += admitPerTick;
+                long admitted = Math.min(waiting, (long) credit);
+                // Leftover credit is capped for the same reason as below
+                credit = Math.min(credit - admitted, Math.max(1.0, admitPerTick));
+                admittedThrough += admitted;
+            } else {
+                // Idle capacity is not saved up, or the next rush would be let in all at once
+                credit = 0;
+            }
+            long currentIssued = issued.get();
+            if (admittedThrough == broadcastAdmitted && currentIssued == broadcastIssued) {
+                return false;
+            }
+            broadcastAdmitted = admittedThrough;
+            broadcastIssued = currentIssued;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.eventchain.service;
+
+import com.eventchain.entity.LotteryJob;
+import com.eventchain.repository.ApplicationRepository;
+import com.eventchain.repository.EventCounterRepositoryCustom.Delta;
+import com.eventchain.repository.LotteryJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Releases SELECTED applications whose payment window has lapsed and
+ * promotes the head of the waitlist into the freed seats. Each promotion
+ * batch is a new lottery round for the event.
+ */
+@Service
+public class WaitlistPromotionService {
+    private static final Logger log = LoggerFactory.getLogger(WaitlistPromotionService.class);
+    private static final List<String> SEAT_HOLDING_STATUSES = List.of("SELECTED", "PAID");
+
+    private final LotteryJobRepository lotteryJobRepository;
+    private final ApplicationRepository applicationRepository;
+    private final EventCounterService eventCounterService;
+    private final FunnelService funnelService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration paymentWindow;
+    private final int batchSize;
+
+    public WaitlistPromotionService(LotteryJobRepository lotteryJobRepository,
+                                    ApplicationRepository applicationRepository,
+                                    EventCounterService eventCounterService,
+                                    FunnelService funnelService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${lottery.promotion.payment-window:PT48H}") Duration paymentWindow,
+                                    @Value("${lottery.promotion.batch-size:500}") int batchSize) {
+        this.lotteryJobRepository = lotteryJobRepository;
+        this.applicationRepository = applicationRepository;
+        this.eventCounterService = eventCounterService;
+        this.funnelService = funnelService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.paymentWindow = paymentWindow;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${lottery.promotion.interval-ms:60000}")
+    public void promoteAll() {
+        for (Long jobId : lotteryJobRepository.findCompletedJobIdsForUpcomingEvents(LocalDateTime.now())) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> promote(jobId));
+            } catch (Exception e) {
+                log.error("Waitlist promotion failed for lottery job {}", jobId, e);
+            }
+        }
+    }
+
+    private void promote(Long jobId) {
+        // The job row lock keeps two nodes from promoting the same event at once
+        LotteryJob job = lotteryJobRepository.findByIdForUpdate(jobId).orElse(null);
+        if (job == null || !"COMPLETED".equals(job.getStatus())) {
+            return;
+        }
+        Long eventId = job.getEvent().getId();
+
+        long[] expired = applicationRepository.findExpiredSelectionIds(
+                eventId, LocalDateTime.now().minus(paymentWindow), batchSize);
+        int released = expired.length > 0 ? applicationRepository.releaseSelections(expired) : 0;
+        eventCounterService.record(eventId, Delta.statusChanged("SELECTED", "RELEASED", released));
+
+        long openSeats = job.getSelectedSeats()
+                - applicationRepository.countByEventIdAndStatusIn(eventId, SEAT_HOLDING_STATUSES);
+        if (openSeats <= 0) {
+            return;
+        }
+        long[] next = applicationRepository.findWaitlistHead(eventId, (int) Math.min(openSeats, batchSize));
+        if (next.length == 0) {
+            return;
+        }
+        int round = job.getLotteryRound() + 1;
+        int promoted = applicationRepository.promoteWaitlisted(next, round);
+        eventCounterService.record(eventId, Delta.statusChanged("WAITLISTED", "SELECTED", promoted));
+        funnelService.promoted(eventId, round);
+        job.setLotteryRound(round);
+        log.info("Event {}: released {} unpaid selections, promoted {} waitlisted applicants in round {}",
+                eventId, released, promoted, round);
+    }
+}
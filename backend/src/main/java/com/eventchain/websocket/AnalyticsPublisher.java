@@ -0,0 +1,104 @@
+package com.eventchain.websocket;
+
+import com.eventchain.dto.EventAnalyticsDto;
+import com.eventchain.service.EventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes live analytics to {@code /topic/event/{eventId}/analytics}. STOMP
+ * subscriptions are tracked from session events, and once per
+ * {@code app.dashboard.tick-ms} each watched event's analytics are computed a
+ * single time and broadcast only if they differ from the last push, so the
+ * cost depends on the number of watched events rather than on viewers.
+ */
+@Component
+public class AnalyticsPublisher {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsPublisher.class);
+    private static final Pattern TOPIC = Pattern.compile("^/topic/event/(\\d+)/analytics$");
+
+    private final EventService eventService;
+    private final SimpMessagingTemplate messagingTemplate;
+    /** session id -> subscription id -> event id */
+    private final Map<String, Map<String, Long>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, EventAnalyticsDto> lastPublished = new ConcurrentHashMap<>();
+
+    public AnalyticsPublisher(EventService eventService, SimpMessagingTemplate messagingTemplate) {
+        this.eventService = eventService;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        if (headers.getSessionId() == null || headers.getSubscriptionId() == null
+                || headers.getDestination() == null) {
+            return;
+        }
+        Matcher matcher = TOPIC.matcher(headers.getDestination());
+        if (!matcher.matches()) {
+            return;
+        }
+        Long eventId = Long.valueOf(matcher.group(1));
+        subscriptions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), eventId);
+        // The new viewer has nothing yet, so the next tick sends the current figures even if unchanged
+        refresh(eventId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> session = headers.getSessionId() != null ? subscriptions.get(headers.getSessionId()) : null;
+        if (session != null && headers.getSubscriptionId() != null) {
+            session.remove(headers.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        subscriptions.remove(event.getSessionId());
+    }
+
+    /** Makes the next tick push the event's analytics whether or not they changed. */
+    public void refresh(Long eventId) {
+        lastPublished.remove(eventId);
+    }
+
+    @Scheduled(fixedRateString = "${app.dashboard.tick-ms:1000}")
+    public void publish() {
+        Set<Long> watched = subscriptions.values().stream()
+                .flatMap(session -> session.values().stream())
+                .collect(Collectors.toSet());
+        lastPublished.keySet().retainAll(watched);
+
+        for (Long eventId : watched) {
+            EventAnalyticsDto analytics;
+            try {
+                analytics = eventService.getAnalytics(eventId, null);
+            } catch (Exception e) {
+                log.debug("Skipping analytics push for event {}: {}", eventId, e.getMessage());
+                continue;
+            }
+            if (!Objects.equals(analytics, lastPublished.put(eventId, analytics))) {
+                messagingTemplate.convertAndSend("/topic/event/" + eventId + "/analytics", analytics);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.eventchain.config;
+
+import com.eventchain.entity.Announcement;
+import com.eventchain.entity.Application;
+import com.eventchain.entity.Event;
+import com.eventchain.entity.Ticket;
+import com.eventchain.entity.User;
+import com.eventchain.repository.AnnouncementRepository;
+import com.eventchain.repository.ApplicationRepository;
+import com.eventchain.repository.EventRepository;
+import com.eventchain.repository.TicketRepository;
+import com.eventchain.repository.UserRepository;
+import com.eventchain.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails the build when a list endpoint's SQL statement count, as seen by
+ * {@link StatementCounter}, exceeds its budget or grows with the number of
+ * rows returned. Each endpoint is called for a small and a large data set and
+ * must run the same number of statements for both.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetTest {
+    private static final int SMALL = 2;
+    private static final int LARGE = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private ApplicationRepository applicationRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Fixture small;
+    private Fixture large;
+
+    @BeforeAll
+    void seed() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        small = tx.execute(status -> seed(SMALL));
+        large = tx.execute(status -> seed(LARGE));
+    }
+
+    @Test
+    void ticketsByEvent() throws Exception {
+        assertBudget("/api/tickets/event/%d", 1);
+    }
+
+    @Test
+    void myTickets() throws Exception {
+        assertBudgetForMember("/api/tickets/me", 2);
+    }
+
+    @Test
+    void announcementsByEvent() throws Exception {
+        assertBudget("/api/announcements/events/%d", 1);
+    }
+
+    @Test
+    void applicationsByEvent() throws Exception {
+        assertBudget("/api/applications/events/%d", 1);
+    }
+
+    @Test
+    void applicantPage() throws Exception {
+        assertBudget("/api/applications/events/%d/page", 1);
+    }
+
+    @Test
+    void myApplications() throws Exception {
+        assertBudgetForMember("/api/applications/me", 2);
+    }
+
+    private void assertBudget(String path, int budget) throws Exception {
+        int smallCount = statements(String.format(path, small.event().getId()), small.member());
+        int largeCount = statements(String.format(path, large.event().getId()), large.member());
+        assertThat(largeCount).as("%s statements for %d rows vs %d rows", path, LARGE, SMALL).isEqualTo(smallCount);
+        assertThat(largeCount).as("%s statements", path).isPositive().isLessThanOrEqualTo(budget);
+    }
+
+    private void assertBudgetForMember(String path, int budget) throws Exception {
+        int smallCount = statements(path, small.member());
+        int largeCount = statements(path, large.member());
+        assertThat(largeCount).as("%s statements for %d rows vs %d rows", path, LARGE, SMALL).isEqualTo(smallCount);
+        assertThat(largeCount).as("%s statements", path).isPositive().isLessThanOrEqualTo(budget);
+    }
+
+    /** MockMvc runs the request on this thread, so the counter still holds its total afterwards. */
+    private int statements(String path, User user) throws Exception {
+        UserPrincipal principal = UserPrincipal.create(user);
+        Authentication auth = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        mockMvc.perform(get(path).with(authentication(auth))).andExpect(status().isOk());
+        return StatementCounter.current();
+    }
+
+    /**
+     * An event with {@code rows} applicants, each with a ticket, and as many
+     * announcements; plus a member who applied to and holds a ticket for
+     * {@code rows} other events.
+     */
+    private Fixture seed(int rows) {
+        User member = user();
+        Event event = event(member);
+        for (int i = 0; i < rows; i++) {
+            ticket(application(user(), event));
+            ticket(application(member, event(member)));
+
+            Announcement announcement = new Announcement();
+            announcement.setEvent(event);
+            announcement.setTitle("Announcement " + i);
+            announcement.setContent("Content " + i);
+            announcement.setType("INFO");
+            announcement.setCreatedBy(member);
+            announcementRepository.save(announcement);
+        }
+        return new Fixture(event, member);
+    }
+
+    private User user() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@budget.test");
+        user.setDisplayName("Budget");
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private Event event(User creator) {
+        Event event = new Event();
+        event.setTitle("Budget event");
+        event.setCategory("Tech");
+        event.setEventDate(LocalDateTime.now().plusDays(7));
+        event.setPrice(BigDecimal.TEN);
+        event.setMaxSeats(100);
+        event.setLotteryDeadline(LocalDateTime.now().plusDays(3));
+        event.setStatus("OPEN");
+        event.setCreatedBy(creator);
+        return eventRepository.save(event);
+    }
+
+    private Application application(User user, Event event) {
+        Application application = new Application();
+        application.setUser(user);
+        application.setEvent(event);
+        application.setStatus("PAID");
+        return applicationRepository.save(application);
+    }
+
+    private void ticket(Application application) {
+        Ticket ticket = new Ticket();
+        ticket.setApplication(application);
+        ticket.setEvent(application.getEvent());
+        ticket.setUser(application.getUser());
+        ticket.setTokenId(application.getId());
+        ticketRepository.save(ticket);
+    }
+
+    private record Fixture(Event event, User member) {
+    }
+}
@@ -72,6 +72,26 @@ CREATE TABLE `refresh_tokens` (
     CONSTRAINT `fk_refresh_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- ----------------------------
+-- Table structure for idempotency_keys
+-- ----------------------------
+DROP TABLE IF EXISTS `idempotency_keys`;
+CREATE TABLE `idempotency_keys` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `user_id` BIGINT NOT NULL,
+    `idempotency_key` VARCHAR(255) NOT NULL,
+    `request_method` VARCHAR(10) NOT NULL,
+    `request_path` VARCHAR(255) NOT NULL,
+    `status_code` INT NOT NULL,
+    `content_type` VARCHAR(100),
+    `response_body` TEXT,
+    `expires_at` DATETIME(6) NOT NULL,
+    `created_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_idempotency_user_key` (`user_id`, `idempotency_key`),
+    KEY `idx_idempotency_expires` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- ----------------------------
 -- Table structure for events
 -- ----------------------------
@@ -87,6 +107,9 @@ CREATE TABLE `events` (
     `max_seats` INT NOT NULL,
     `lottery_deadline` DATETIME(6) NOT NULL,
     `status` VARCHAR(50) NOT NULL DEFAULT 'DRAFT',
+    `lottery_mode` VARCHAR(20) NOT NULL DEFAULT 'UNIFORM',
+    `overbooking_target` DOUBLE,
+    `waiting_room` TINYINT(1) NOT NULL DEFAULT 0,
     `created_by` BIGINT,
     `created_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
     `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
@@ -108,16 +131,121 @@ CREATE TABLE `applications` (
     `status` VARCHAR(50) NOT NULL DEFAULT 'APPLIED',
     `application_order` INT,
     `lottery_round` INT DEFAULT 1,
+    `lottery_key` BIGINT,
+    `lottery_weight` INT NOT NULL DEFAULT 1,
+    `selected_at` DATETIME(6),
     `created_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
     `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
     PRIMARY KEY (`id`),
     UNIQUE KEY `uk_application_user_event` (`user_id`, `event_id`),
     KEY `idx_application_event` (`event_id`),
     KEY `idx_application_status` (`status`),
+    KEY `idx_application_event_status_lottery_key` (`event_id`, `status`, `lottery_key`, `id`),
+    KEY `idx_application_event_created` (`event_id`, `created_at`, `id`),
+    KEY `idx_application_event_status_order` (`event_id`, `status`, `application_order`),
     CONSTRAINT `fk_application_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE,
     CONSTRAINT `fk_application_event` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- ----------------------------
+-- Table structure for lottery_jobs
+-- ----------------------------
+DROP TABLE IF EXISTS `lottery_jobs`;
+CREATE TABLE `lottery_jobs` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `event_id` BIGINT NOT NULL,
+    `status` VARCHAR(30) NOT NULL DEFAULT 'QUEUED',
+    `total_applicants` BIGINT NOT NULL DEFAULT 0,
+    `processed` BIGINT NOT NULL DEFAULT 0,
+    `selected_seats` INT NOT NULL,
+    `lottery_round` INT NOT NULL DEFAULT 1,
+    `lottery_mode` VARCHAR(20) NOT NULL DEFAULT 'UNIFORM',
+    `seed` BIGINT NOT NULL,
+    `owner_token` VARCHAR(36),
+    `heartbeat_at` DATETIME(6),
+    `error_message` VARCHAR(500),
+    `started_at` DATETIME(6),
+    `completed_at` DATETIME(6),
+    `created_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_lottery_job_event` (`event_id`),
+    KEY `idx_lottery_job_status_heartbeat` (`status`, `heartbeat_at`),
+    CONSTRAINT `fk_lottery_job_event` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ----------------------------
+-- Table structure for event_counters
+-- ----------------------------
+DROP TABLE IF EXISTS `event_counters`;
+CREATE TABLE `event_counters` (
+    `event_id` BIGINT NOT NULL,
+    `applications` BIGINT NOT NULL DEFAULT 0,
+    `selected` BIGINT NOT NULL DEFAULT 0,
+    `waitlisted` BIGINT NOT NULL DEFAULT 0,
+    `paid` BIGINT NOT NULL DEFAULT 0,
+    `minted` BIGINT NOT NULL DEFAULT 0,
+    `checked_in` BIGINT NOT NULL DEFAULT 0,
+    `certificates` BIGINT NOT NULL DEFAULT 0,
+    `revenue` DECIMAL(14,2) NOT NULL DEFAULT 0,
+    `rebuilt_at` DATETIME(6),
+    `updated_at` DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (`event_id`),
+    CONSTRAINT `fk_event_counters_event` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ----------------------------
+-- Table structure for event_activity
+-- ----------------------------
+DROP TABLE IF EXISTS `event_activity`;
+CREATE TABLE `event_activity` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `event_id` BIGINT NOT NULL,
+    `bucket_start` DATETIME(6) NOT NULL,
+    `applications` BIGINT NOT NULL DEFAULT 0,
+    `payments` BIGINT NOT NULL DEFAULT 0,
+    `check_ins` BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_event_activity_minute` (`event_id`, `bucket_start`),
+    KEY `idx_event_activity_bucket` (`bucket_start`),
+    CONSTRAINT `fk_event_activity_event` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ----------------------------
+-- Table structure for event_funnel
+-- ----------------------------
+DROP TABLE IF EXISTS `event_funnel`;
+CREATE TABLE `event_funnel` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `event_id` BIGINT NOT NULL,
+    `cohort_start` DATETIME(6) NOT NULL,
+    `applied` BIGINT NOT NULL DEFAULT 0,
+    `selected` BIGINT NOT NULL DEFAULT 0,
+    `paid` BIGINT NOT NULL DEFAULT 0,
+    `minted` BIGINT NOT NULL DEFAULT 0,
+    `checked_in` BIGINT NOT NULL DEFAULT 0,
+    `certified` BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_event_funnel_cohort` (`event_id`, `cohort_start`),
+    CONSTRAINT `fk_event_funnel_event` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ----------------------------
+-- Table structure for application_intakes
+-- ----------------------------
+DROP TABLE IF EXISTS `application_intakes`;
+CREATE TABLE `application_intakes` (
+    `intake_id` VARCHAR(36) NOT NULL,
+    `user_id` BIGINT NOT NULL,
+    `event_id` BIGINT NOT NULL,
+    `status` VARCHAR(20) NOT NULL,
+    `application_id` BIGINT,
+    `error` VARCHAR(255),
+    `completed_at` DATETIME(6) NOT NULL,
+    PRIMARY KEY (`intake_id`),
+    KEY `idx_application_intake_completed` (`completed_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- ----------------------------
 -- Table structure for payments
 -- ----------------------------